@@ -0,0 +1,70 @@
+package com.hahn.taskmanager.benchmark;
+
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.Task;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.security.JwtService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    public static final long JWT_EXPIRATION = 86_400_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        return User.builder()
+                .id(1L)
+                .email("bench@example.com")
+                .fullName("Bench User")
+                .password("{noop}password")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static JwtService jwtService(long verifiedTokenCacheSize) {
+        return new JwtService(JWT_SECRET, JWT_EXPIRATION, verifiedTokenCacheSize);
+    }
+
+    public static List<Project> projects(User owner, int count) {
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            projects.add(Project.builder()
+                    .id((long) i)
+                    .title("Project " + i)
+                    .description("Description of project " + i)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .totalTasks(40)
+                    .completedTasks(i % 40)
+                    .owner(owner)
+                    .build());
+        }
+        return projects;
+    }
+
+    public static List<Task> tasks(Project project, int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean completed = i % 3 == 0;
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task " + i + " with a few more words in it")
+                    .dueDate(LocalDate.now().plusDays(i % 30))
+                    .completed(completed)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .completedAt(completed ? LocalDateTime.now() : null)
+                    .project(project)
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hahn.taskmanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.taskmanager.dto.ProjectResponse;
+import com.hahn.taskmanager.dto.TaskResponse;
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ProjectResponse> projects;
+    private List<TaskResponse> tasks;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        User owner = BenchmarkFixtures.user();
+        List<Project> projectEntities = BenchmarkFixtures.projects(owner, size);
+        projects = projectEntities.stream()
+                .map(project -> ProjectResponse.builder()
+                        .id(project.getId())
+                        .title(project.getTitle())
+                        .description(project.getDescription())
+                        .createdAt(project.getCreatedAt())
+                        .updatedAt(project.getUpdatedAt())
+                        .totalTasks(project.getTotalTasks())
+                        .completedTasks(project.getCompletedTasks())
+                        .progressPercentage(project.getProgressPercentage())
+                        .build())
+                .collect(Collectors.toList());
+        tasks = BenchmarkFixtures.tasks(projectEntities.get(0), size).stream()
+                .map(task -> TaskResponse.builder()
+                        .id(task.getId())
+                        .title(task.getTitle())
+                        .description(task.getDescription())
+                        .dueDate(task.getDueDate())
+                        .completed(task.isCompleted())
+                        .createdAt(task.getCreatedAt())
+                        .updatedAt(task.getUpdatedAt())
+                        .completedAt(task.getCompletedAt())
+                        .projectId(task.getProject().getId())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeProjects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+}
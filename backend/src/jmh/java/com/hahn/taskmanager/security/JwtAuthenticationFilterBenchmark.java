@@ -0,0 +1,56 @@
+package com.hahn.taskmanager.security;
+
+import com.hahn.taskmanager.benchmark.BenchmarkFixtures;
+import com.hahn.taskmanager.entity.User;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter path for an authenticated request. The user lookup is an in-memory stub, so
+ * the numbers cover token handling and principal caching, not the database round-trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    private long verifiedTokenCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user();
+        JwtService jwtService = BenchmarkFixtures.jwtService(verifiedTokenCacheSize);
+        PrincipalCache principalCache = new PrincipalCache(10_000, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(jwtService, username -> user, principalCache);
+        authorizationHeader = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.benchmark.BenchmarkFixtures;
+import com.hahn.taskmanager.dto.ProjectResponse;
+import com.hahn.taskmanager.dto.TaskResponse;
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.Task;
+import com.hahn.taskmanager.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ProjectService projectService;
+    private TaskService taskService;
+    private List<Project> projects;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        projectService = new ProjectService(null, null, null, null, null, null, null);
+        taskService = new TaskService(null, null, null, null, null, null, null, null, null, null, null);
+        User owner = BenchmarkFixtures.user();
+        projects = BenchmarkFixtures.projects(owner, size);
+        tasks = BenchmarkFixtures.tasks(projects.get(0), size);
+    }
+
+    @Benchmark
+    public List<ProjectResponse> mapProjects() {
+        List<ProjectResponse> responses = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            responses.add(projectService.mapToResponse(project));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapTasks() {
+        List<TaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            responses.add(taskService.mapToResponse(task));
+        }
+        return responses;
+    }
+}
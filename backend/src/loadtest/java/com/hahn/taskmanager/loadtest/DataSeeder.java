@@ -0,0 +1,80 @@
+package com.hahn.taskmanager.loadtest;
+
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.Task;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.TaskRepository;
+import com.hahn.taskmanager.repository.UserRepository;
+import com.hahn.taskmanager.security.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds users, projects and tasks through the application's own repositories and issues
+ * a token for every seeded user.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataSeeder {
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final TransactionTemplate transactionTemplate;
+
+    public List<SeededUser> seed(LoadTestConfig config) {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        String password = passwordEncoder.encode("loadtest");
+        int completedTasks = (int) Math.round(config.getTasksPerProject() * config.getCompletedRatio());
+        List<SeededUser> seeded = new ArrayList<>();
+
+        for (int u = 0; u < config.getUsers(); u++) {
+            User user = userRepository.save(User.builder()
+                    .email("loadtest-" + runId + "-" + u + "@example.com")
+                    .fullName("Load Test " + u)
+                    .password(password)
+                    .build());
+
+            List<Long> projectIds = new ArrayList<>();
+            for (int p = 0; p < config.getProjectsPerUser(); p++) {
+                int projectNumber = p;
+                Long projectId = transactionTemplate.execute(status -> {
+                    Project project = projectRepository.save(Project.builder()
+                            .title("Project " + projectNumber)
+                            .description("Seeded by the load test")
+                            .owner(user)
+                            .totalTasks(config.getTasksPerProject())
+                            .completedTasks(completedTasks)
+                            .build());
+                    List<Task> tasks = new ArrayList<>(config.getTasksPerProject());
+                    for (int t = 0; t < config.getTasksPerProject(); t++) {
+                        tasks.add(Task.builder()
+                                .title("Task " + t)
+                                .description("Seeded task " + t + " of project " + projectNumber)
+                                .dueDate(LocalDate.now().plusDays(t % 30))
+                                .completed(t < completedTasks)
+                                .project(project)
+                                .build());
+                    }
+                    taskRepository.saveAll(tasks);
+                    return project.getId();
+                });
+                projectIds.add(projectId);
+            }
+
+            seeded.add(new SeededUser(jwtService.generateToken(user), projectIds));
+            log.info("Seeded user {}/{}", u + 1, config.getUsers());
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,150 @@
+package com.hahn.taskmanager.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives a weighted mix of scenarios from a fixed number of closed-loop clients and
+ * records every request latency.
+ */
+public class LoadDriver {
+
+    private final String baseUrl;
+    private final List<SeededUser> users;
+    private final LoadTestConfig config;
+    private final Scenario[] weightedScenarios;
+    private final HttpClient httpClient;
+
+    public LoadDriver(int port, List<SeededUser> users, LoadTestConfig config) {
+        this.baseUrl = "http://localhost:" + port;
+        this.users = users;
+        this.config = config;
+        this.weightedScenarios = config.getMix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Scenario[]::new);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public Map<Scenario, ScenarioResult> run(Duration duration) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(config.getConcurrency());
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Scenario, Recorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            futures.add(clients.submit(() -> runClient(deadline)));
+        }
+
+        Map<Scenario, Recorder> merged = new EnumMap<>(Scenario.class);
+        for (Future<Map<Scenario, Recorder>> future : futures) {
+            future.get().forEach((scenario, recorder) ->
+                    merged.computeIfAbsent(scenario, s -> new Recorder()).addAll(recorder));
+        }
+        clients.shutdown();
+
+        Map<Scenario, ScenarioResult> results = new EnumMap<>(Scenario.class);
+        merged.forEach((scenario, recorder) -> results.put(scenario, recorder.summarize(duration)));
+        return results;
+    }
+
+    private Map<Scenario, Recorder> runClient(long deadline) {
+        Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = weightedScenarios[random.nextInt(weightedScenarios.length)];
+            SeededUser user = users.get(random.nextInt(users.size()));
+            long projectId = user.getProjectIds().get(random.nextInt(user.getProjectIds().size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path(projectId)))
+                    .header("Authorization", "Bearer " + user.getToken())
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            Recorder recorder = recorders.computeIfAbsent(scenario, s -> new Recorder());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                recorder.record(System.nanoTime() - start, response.statusCode() == 200);
+            } catch (Exception e) {
+                recorder.record(System.nanoTime() - start, false);
+            }
+        }
+        return recorders;
+    }
+
+    @Value
+    @Builder
+    public static class ScenarioResult {
+        long requests;
+        long errors;
+        double requestsPerSecond;
+        double meanMillis;
+        double p50Millis;
+        double p99Millis;
+        double p999Millis;
+        double maxMillis;
+    }
+
+    private static class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        ScenarioResult summarize(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return ScenarioResult.builder()
+                    .requests(count)
+                    .errors(errors)
+                    .requestsPerSecond(count / (duration.toMillis() / 1000.0))
+                    .meanMillis(count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1_000_000.0)
+                    .p50Millis(percentile(sorted, 0.50))
+                    .p99Millis(percentile(sorted, 0.99))
+                    .p999Millis(percentile(sorted, 0.999))
+                    .maxMillis(count == 0 ? 0 : sorted[count - 1] / 1_000_000.0)
+                    .build();
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
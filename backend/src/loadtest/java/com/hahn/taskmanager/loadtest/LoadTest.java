@@ -0,0 +1,91 @@
+package com.hahn.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hahn.taskmanager.TaskManagerApplication;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.TaskRepository;
+import com.hahn.taskmanager.repository.UserRepository;
+import com.hahn.taskmanager.security.JwtService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Boots the full application against a local Postgres, seeds data through the repositories
+ * and reports latency percentiles and throughput of the listing endpoints as JSON.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        EmbeddedPostgres postgres = config.getJdbcUrl() == null ? EmbeddedPostgres.builder().start() : null;
+        String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : config.getJdbcUrl();
+
+        // Passed as command line arguments so they take precedence over application.yml
+        String[] applicationArgs = Stream.concat(Stream.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + config.getJdbcUsername(),
+                "--spring.datasource.password=" + config.getJdbcPassword(),
+                "--server.port=0"
+        ), Arrays.stream(args)).toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .run(applicationArgs)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            DataSeeder seeder = new DataSeeder(
+                    context.getBean(UserRepository.class),
+                    context.getBean(ProjectRepository.class),
+                    context.getBean(TaskRepository.class),
+                    context.getBean(PasswordEncoder.class),
+                    context.getBean(JwtService.class),
+                    context.getBean(TransactionTemplate.class)
+            );
+            List<SeededUser> users = seeder.seed(config);
+
+            LoadDriver driver = new LoadDriver(port, users, config);
+            log.info("Warming up for {}", config.getWarmup());
+            driver.run(config.getWarmup());
+            log.info("Measuring for {} with {} clients", config.getDuration(), config.getConcurrency());
+            Map<Scenario, LoadDriver.ScenarioResult> results = driver.run(config.getDuration());
+
+            writeReport(config, context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"), results);
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static void writeReport(LoadTestConfig config, String virtualThreads,
+                                    Map<Scenario, LoadDriver.ScenarioResult> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("virtualThreads", Boolean.parseBoolean(virtualThreads));
+        Map<String, LoadDriver.ScenarioResult> scenarios = new LinkedHashMap<>();
+        results.forEach((scenario, result) -> scenarios.put(scenario.getDescription(), result));
+        report.put("scenarios", scenarios);
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        File file = new File(config.getReport());
+        file.getParentFile().mkdirs();
+        objectMapper.writeValue(file, report);
+        System.out.println(objectMapper.writeValueAsString(report));
+        log.info("Load test report written to {}", file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,56 @@
+package com.hahn.taskmanager.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code -Dloadtest.*} system properties.
+ */
+@Value
+@Builder
+public class LoadTestConfig {
+
+    /** External database to run against; an embedded Postgres is started when empty. */
+    String jdbcUrl;
+    String jdbcUsername;
+    String jdbcPassword;
+    int users;
+    int projectsPerUser;
+    int tasksPerProject;
+    double completedRatio;
+    int concurrency;
+    Duration warmup;
+    Duration duration;
+    Map<Scenario, Integer> mix;
+    String report;
+
+    public static LoadTestConfig fromSystemProperties() {
+        return LoadTestConfig.builder()
+                .jdbcUrl(System.getProperty("loadtest.jdbc-url"))
+                .jdbcUsername(System.getProperty("loadtest.jdbc-username", "postgres"))
+                .jdbcPassword(System.getProperty("loadtest.jdbc-password", "postgres"))
+                .users(Integer.getInteger("loadtest.users", 10))
+                .projectsPerUser(Integer.getInteger("loadtest.projects-per-user", 20))
+                .tasksPerProject(Integer.getInteger("loadtest.tasks-per-project", 200))
+                .completedRatio(Double.parseDouble(System.getProperty("loadtest.completed-ratio", "0.3")))
+                .concurrency(Integer.getInteger("loadtest.concurrency", 32))
+                .warmup(Duration.parse(System.getProperty("loadtest.warmup", "PT10S")))
+                .duration(Duration.parse(System.getProperty("loadtest.duration", "PT60S")))
+                .mix(parseMix(System.getProperty("loadtest.mix", "projects:1,tasks:4")))
+                .report(System.getProperty("loadtest.report", "target/loadtest-report.json"))
+                .build();
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Scenario.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,27 @@
+package com.hahn.taskmanager.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum Scenario {
+    PROJECTS("projects", "GET /api/projects"),
+    TASKS("tasks", "GET /api/projects/{projectId}/tasks");
+
+    private final String key;
+    private final String description;
+
+    public String path(long projectId) {
+        return this == PROJECTS ? "/api/projects" : "/api/projects/" + projectId + "/tasks";
+    }
+
+    public static Scenario fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test scenario: " + key));
+    }
+}
@@ -0,0 +1,11 @@
+package com.hahn.taskmanager.loadtest;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SeededUser {
+    String token;
+    List<Long> projectIds;
+}
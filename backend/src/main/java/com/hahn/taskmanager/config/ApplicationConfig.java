@@ -19,16 +19,19 @@ public class ApplicationConfig {
 
     private final UserRepository userRepository;
 
+    // Principals of issued tokens, served from the query cache
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userRepository.findPrincipalByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
+        // Uncached, so a login finds a user who just registered on another node
+        authProvider.setUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username)));
         authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
     }
@@ -0,0 +1,162 @@
+package com.hahn.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.taskmanager.exception.ErrorResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Caps the number of API requests in flight. With virtual threads Tomcat no longer bounds
+ * concurrency through its worker pool, so without this thousands of requests would queue
+ * on the Hikari pool and time out there instead of being shed early with a 503.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Pattern EVENT_STREAM = Pattern.compile("/api/projects/[^/]+/events");
+
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitFilter(
+            @Value("${app.concurrency-limit.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${app.concurrency-limit.acquire-timeout}") Duration acquireTimeout,
+            ObjectMapper objectMapper
+    ) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.objectMapper = objectMapper;
+        log.info("Limiting API requests to {} in flight", maxConcurrentRequests);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        // Event streams stay open for minutes and would otherwise pin a permit each
+        return !uri.startsWith("/api/") || EVENT_STREAM.matcher(uri).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.incrementAndGet();
+            reject(response);
+            return;
+        }
+
+        boolean releasedLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streamed exports keep a database connection until the response is written
+                request.getAsyncContext().addListener(new PermitReleaser());
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                permits.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Server is busy, please retry")
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /** Returns the permit of an async request once its response is complete. */
+    private class PermitReleaser implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Followed by onComplete once the timeout has been handled
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when a request goes async again
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("http.server.requests.in.flight", this,
+                        filter -> filter.maxConcurrentRequests - filter.permits.availablePermits())
+                .description("API requests currently holding a concurrency permit")
+                .register(registry);
+        FunctionCounter.builder("http.server.requests.rejected", rejected, AtomicLong::get)
+                .description("API requests rejected because no concurrency permit became available")
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hahn.taskmanager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Modifier;
+import java.util.function.Predicate;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_CALLS = "service.calls";
+
+    /**
+     * Records {@code @Timed} methods. Package-private helpers of timed classes are left out,
+     * since other services call them once per row during imports and change propagation.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        Predicate<ProceedingJoinPoint> skipNonPublic = joinPoint ->
+                !Modifier.isPublic(((MethodSignature) joinPoint.getSignature()).getMethod().getModifiers());
+        return new TimedAspect(registry, skipNonPublic);
+    }
+}
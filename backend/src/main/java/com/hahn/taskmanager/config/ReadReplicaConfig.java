@@ -0,0 +1,79 @@
+package com.hahn.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with one that sends read-only transactions to
+ * the replicas. Spring marks the connection of a {@code readOnly} transaction before its
+ * first statement, and the lazy proxy only then picks the primary or the replica router.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.routing.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.routing.replica-pool-size}") int replicaPoolSize,
+            @Value("${app.datasource.routing.max-lag}") Duration maxLag,
+            @Value("${app.datasource.routing.health-check-interval}") Duration healthCheckInterval,
+            @Value("${app.datasource.routing.read-your-writes-window}") Duration readYourWritesWindow
+    ) {
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            // Started on first use and retried in the background while the replica is unreachable
+            HikariDataSource pool = new HikariDataSource();
+            pool.setInitializationFailTimeout(-1);
+            pool.setPoolName("replica-" + (replicaPools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setMaximumPoolSize(replicaPoolSize);
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setReadOnly(true);
+            // Not beans, so the hikaricp.* pool metrics have to be attached here
+            meterRegistry.ifAvailable(registry ->
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicaPools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, maxLag, healthCheckInterval,
+                readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,199 @@
+package com.hahn.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.TaskChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connections for read-only transactions. Each one comes from the next healthy replica
+ * whose replay lag is within {@code max-lag}, and from the primary when no replica
+ * qualifies or when the current user committed a change less than the read-your-writes
+ * window ago, so users never read a replica that may not have their own changes yet.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, DisposableBean {
+
+    // Zero when every received WAL record has been replayed, so an idle primary does not
+    // make its replicas look behind; NULL while a replica has not replayed anything yet
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Cache<Long, Boolean> recentWriters;
+    private final ScheduledExecutorService healthChecker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxLag,
+                                    Duration healthCheckInterval, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!replicas.isEmpty()) {
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0,
+                    healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        if (!hasRecentWrite(currentUserId())) {
+            Replica replica = nextHealthyReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replicaReads.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    log.warn("Replica {} is unavailable, reading from the primary", replica.pool.getPoolName(), e);
+                }
+            }
+        }
+        primaryReads.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections use the configured primary and replica credentials");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        recentWriters.put(event.getOwnerId(), Boolean.TRUE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        recentWriters.put(event.getOwnerId(), Boolean.TRUE);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("datasource.routing.reads", replicaReads, AtomicLong::get)
+                .tag("target", "replica")
+                .description("Read-only transactions served by a replica")
+                .register(registry);
+        FunctionCounter.builder("datasource.routing.reads", primaryReads, AtomicLong::get)
+                .tag("target", "primary")
+                .description("Read-only transactions served by the primary")
+                .register(registry);
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.pool.getPoolName())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private boolean hasRecentWrite(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                double lag = resultSet.getDouble(1);
+                replica.lagSeconds = resultSet.wasNull() ? Double.NaN : lag;
+                replica.healthy = !resultSet.wasNull() && lag <= maxLag.toMillis() / 1000.0;
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.healthy = false;
+                log.debug("Health check of replica {} failed", replica.pool.getPoolName(), e);
+            } catch (RuntimeException e) {
+                log.warn("Health check of replica {} failed", replica.pool.getPoolName(), e);
+            }
+            if (replica.healthy != wasHealthy) {
+                log.info("Replica {} is now {} (lag {}s)", replica.pool.getPoolName(),
+                        replica.healthy ? "in use" : "out of rotation", replica.lagSeconds);
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        // Out of rotation until the first health check passes
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hahn.taskmanager.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Local Caffeine caches backing the Hibernate second-level cache: one region per cached
+ * entity, the query result region and the update timestamps region that invalidates
+ * cached query results.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String PROJECTS = "projects";
+    public static final List<String> MONITORED_REGIONS =
+            List.of(USERS, PROJECTS, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${app.second-level-cache.max-size}") long maxSize,
+            @Value("${app.second-level-cache.ttl}") Duration ttl
+    ) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        // Hibernate stores immutable disassembled state, so entries need not be copied
+        CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<>();
+        bounded.setStoreByValue(false);
+        bounded.setStatisticsEnabled(true);
+        bounded.setMaximumSize(OptionalLong.of(maxSize));
+        bounded.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        for (String region : MONITORED_REGIONS) {
+            cacheManager.createCache(region, bounded);
+        }
+
+        // One entry per table; cached query results are only valid while these are kept
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,93 @@
+package com.hahn.taskmanager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records how many SQL statements each API request runs, per endpoint, and warns about
+ * requests over the statement budget or running one statement many times, which usually
+ * means a lazy association is loaded once per row of a result.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 2)
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final int repeatedThreshold;
+
+    public StatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-statements.budget}") int budget,
+            @Value("${app.sql-statements.repeated-threshold}") int repeatedThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            filterChain.doFilter(request, response);
+            // Streamed responses and event feeds run their statements on other threads
+            if (!request.isAsyncStarted()) {
+                record(request, recording);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementCounter.Recording recording) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .description("SQL statements run per API request")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100, 200, 500)
+                .register(meterRegistry)
+                .record(recording.count());
+
+        Map.Entry<String, Integer> mostRepeated = recording.mostRepeated();
+        if (mostRepeated.getValue() >= repeatedThreshold) {
+            Counter.builder("http.server.requests.repeated.statements")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .description("API requests that ran one SQL statement at least repeated-threshold times")
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} ran the same statement {} times, likely once per result row: {}",
+                    method, uri, mostRepeated.getValue(), mostRepeated.getKey());
+        } else if (recording.count() > budget) {
+            log.warn("{} {} ran {} SQL statements, over the budget of {}", method, uri, recording.count(), budget);
+        }
+    }
+}
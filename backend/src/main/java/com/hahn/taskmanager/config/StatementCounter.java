@@ -0,0 +1,89 @@
+package com.hahn.taskmanager.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * {@link Recording} is open. Statements run through plain JDBC, such as change
+ * notifications, are not seen.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.outer) {
+            recording.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting statements on this thread until the recording is closed. Recordings
+     * may be nested, e.g. a test around a request, and each sees every statement run inside it.
+     */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    public static final class Recording implements AutoCloseable {
+        private final Recording outer;
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int total;
+
+        private Recording(Recording outer) {
+            this.outer = outer;
+        }
+
+        private void add(String sql) {
+            counts.merge(sql, 1, Integer::sum);
+            total++;
+        }
+
+        public int count() {
+            return total;
+        }
+
+        /** Each statement run, with the number of times it was run. */
+        public Map<String, Integer> statements() {
+            return Collections.unmodifiableMap(counts);
+        }
+
+        /**
+         * The statement run most often. Parameters are bound separately, so a lazy load
+         * repeated for every row of a result shows up here with one entry per row.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return counts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(Map.entry("", 0));
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (outer == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(outer);
+                }
+            }
+        }
+    }
+}
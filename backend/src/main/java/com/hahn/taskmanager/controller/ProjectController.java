@@ -1,16 +1,21 @@
 package com.hahn.taskmanager.controller;
 
+import com.hahn.taskmanager.dto.CursorPage;
 import com.hahn.taskmanager.dto.ProjectRequest;
 import com.hahn.taskmanager.dto.ProjectResponse;
 import com.hahn.taskmanager.entity.User;
 import com.hahn.taskmanager.service.ProjectService;
+import com.hahn.taskmanager.service.TaskEventBroadcaster;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,6 +25,7 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
 
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(
@@ -30,25 +36,55 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(projectService.getAllProjects(user));
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
+    ) {
+        long revision = projectService.getListingRevision(user);
+        return RevisionEtag.respond(webRequest, revision, r -> RevisionEtag.ofOwner(user.getId(), r),
+                () -> projectService.getAllProjects(user, revision));
     }
 
     @GetMapping("/paginated")
     public ResponseEntity<Page<ProjectResponse>> getAllProjectsPaginated(
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(projectService.getAllProjectsPaginated(user, page, size));
+        String etag = RevisionEtag.ofOwner(user.getId(), projectService.getListingRevision(user));
+        return RevisionEtag.respond(webRequest, etag, () -> projectService.getAllProjectsPaginated(user, page, size));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProjectResponse>> getProjectsAfter(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest
+    ) {
+        String etag = RevisionEtag.ofOwner(user.getId(), projectService.getListingRevision(user));
+        return RevisionEtag.respond(webRequest, etag, () -> projectService.getProjectsAfter(user, after, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(projectService.getProjectById(id, user));
+        long revision = projectService.getProjectRevision(id, user);
+        return RevisionEtag.respond(webRequest, revision, r -> RevisionEtag.ofProject(id, r),
+                () -> projectService.getProjectById(id, user, revision));
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return taskEventBroadcaster.subscribe(id, user, lastEventId);
     }
 
     @PutMapping("/{id}")
@@ -72,8 +108,12 @@ public class ProjectController {
     @GetMapping("/search")
     public ResponseEntity<List<ProjectResponse>> searchProjects(
             @AuthenticationPrincipal User user,
-            @RequestParam String q
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(projectService.searchProjects(user, q));
+        String etag = RevisionEtag.ofOwner(user.getId(), projectService.getListingRevision(user));
+        return RevisionEtag.respond(webRequest, etag, () -> projectService.searchProjects(user, q, page, size));
     }
 }
@@ -0,0 +1,54 @@
+package com.hahn.taskmanager.controller;
+
+import com.hahn.taskmanager.dto.Revisioned;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags for GET responses whose content is fully determined by a persisted
+ * revision. The revision is read first, so a matching {@code If-None-Match} is answered
+ * with 304 before anything else is loaded. A body read from the database afterwards is at
+ * worst newer than its ETag, never older. Cached bodies carry the revision they were
+ * loaded at, and that revision becomes the ETag.
+ */
+final class RevisionEtag {
+
+    private RevisionEtag() {
+    }
+
+    static String ofOwner(Long ownerId, long revision) {
+        return "\"o" + ownerId + "-" + revision + "\"";
+    }
+
+    static String ofProject(Long projectId, long revision) {
+        return "\"p" + projectId + "-" + revision + "\"";
+    }
+
+    /**
+     * {@link WebRequest#checkNotModified(String)} also sets the ETag header on the
+     * response, so callers must not add it again.
+     */
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(body.get());
+    }
+
+    /**
+     * Like {@link #respond} for bodies that may come from a cache. The response is tagged
+     * with the revision the body was loaded at, which may differ from {@code revision}.
+     */
+    static <T> ResponseEntity<T> respond(WebRequest request, long revision, LongFunction<String> etagOf,
+                                         Supplier<Revisioned<T>> body) {
+        if (request.checkNotModified(etagOf.apply(revision))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Revisioned<T> loaded = body.get();
+        return ResponseEntity.ok().eTag(etagOf.apply(loaded.getRevision())).body(loaded.getBody());
+    }
+}
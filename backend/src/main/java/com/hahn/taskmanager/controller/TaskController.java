@@ -1,17 +1,32 @@
 package com.hahn.taskmanager.controller;
 
+import com.hahn.taskmanager.dto.BulkTaskCreateRequest;
+import com.hahn.taskmanager.dto.BulkTaskDeleteRequest;
+import com.hahn.taskmanager.dto.BulkTaskResponse;
+import com.hahn.taskmanager.dto.BulkTaskStatusRequest;
+import com.hahn.taskmanager.dto.CursorPage;
+import com.hahn.taskmanager.dto.TaskFileFormat;
+import com.hahn.taskmanager.dto.TaskImportResponse;
 import com.hahn.taskmanager.dto.TaskRequest;
 import com.hahn.taskmanager.dto.TaskResponse;
 import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.service.ProjectService;
+import com.hahn.taskmanager.service.TaskImportService;
 import com.hahn.taskmanager.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,6 +35,8 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ProjectService projectService;
+    private final TaskImportService taskImportService;
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
@@ -30,12 +47,56 @@ public class TaskController {
         return new ResponseEntity<>(taskService.createTask(projectId, request, user), HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> createTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskCreateRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(taskService.createTasks(projectId, request.getTasks(), user));
+    }
+
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkTaskResponse> setTasksCompletion(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskStatusRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(taskService.setTasksCompletion(
+                projectId, request.getTaskIds(), request.getCompleted(), user));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> deleteTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskDeleteRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(taskService.deleteTasks(projectId, request.getTaskIds(), user));
+    }
+
+    // Form content types are excluded: reading request parameters would consume the body
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv", MediaType.APPLICATION_JSON_VALUE,
+            MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body
+    ) throws IOException {
+        TaskFileFormat fileFormat = TaskFileFormat.of(format);
+        return ResponseEntity.ok(taskImportService.importTasks(projectId, user, fileFormat, body));
+    }
+
     @GetMapping
     public ResponseEntity<List<TaskResponse>> getAllTasks(
             @PathVariable Long projectId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(taskService.getAllTasks(projectId, user));
+        long revision = projectService.getProjectRevision(projectId, user);
+        return RevisionEtag.respond(webRequest, revision, r -> RevisionEtag.ofProject(projectId, r),
+                () -> taskService.getAllTasks(projectId, user, revision));
     }
 
     @GetMapping("/paginated")
@@ -43,18 +104,54 @@ public class TaskController {
             @PathVariable Long projectId,
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest
+    ) {
+        String etag = RevisionEtag.ofProject(projectId, projectService.getProjectRevision(projectId, user));
+        return RevisionEtag.respond(webRequest, etag,
+                () -> taskService.getAllTasksPaginated(projectId, user, page, size));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<TaskResponse>> getTasksAfter(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(taskService.getAllTasksPaginated(projectId, user, page, size));
+        String etag = RevisionEtag.ofProject(projectId, projectService.getProjectRevision(projectId, user));
+        return RevisionEtag.respond(webRequest, etag, () -> taskService.getTasksAfter(projectId, user, after, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "ndjson") String format,
+            WebRequest webRequest
+    ) {
+        TaskFileFormat fileFormat = TaskFileFormat.of(format);
+        String etag = RevisionEtag.ofProject(projectId, projectService.getProjectRevision(projectId, user));
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"project-" + projectId + "-tasks." + fileFormat.getExtension() + "\"")
+                .body(out -> taskService.exportTasks(projectId, user, fileFormat, out));
     }
 
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskResponse> getTaskById(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(taskService.getTaskById(projectId, taskId, user));
+        String etag = RevisionEtag.ofProject(projectId, projectService.getProjectRevision(projectId, user));
+        return RevisionEtag.respond(webRequest, etag, () -> taskService.getTaskById(projectId, taskId, user));
     }
 
     @PutMapping("/{taskId}")
@@ -90,17 +187,23 @@ public class TaskController {
     public ResponseEntity<List<TaskResponse>> searchTasks(
             @PathVariable Long projectId,
             @AuthenticationPrincipal User user,
-            @RequestParam String q
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(taskService.searchTasks(projectId, user, q));
+        String etag = RevisionEtag.ofProject(projectId, projectService.getProjectRevision(projectId, user));
+        return RevisionEtag.respond(webRequest, etag, () -> taskService.searchTasks(projectId, user, q, page, size));
     }
 
     @GetMapping("/filter")
     public ResponseEntity<List<TaskResponse>> getTasksByStatus(
             @PathVariable Long projectId,
             @AuthenticationPrincipal User user,
-            @RequestParam boolean completed
+            @RequestParam boolean completed,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(taskService.getTasksByStatus(projectId, user, completed));
+        String etag = RevisionEtag.ofProject(projectId, projectService.getProjectRevision(projectId, user));
+        return RevisionEtag.respond(webRequest, etag, () -> taskService.getTasksByStatus(projectId, user, completed));
     }
 }
@@ -0,0 +1,22 @@
+package com.hahn.taskmanager.controller;
+
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    @DeleteMapping("/me")
+    public ResponseEntity<Void> deleteCurrentUser(@AuthenticationPrincipal User user) {
+        userService.deleteUser(user);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.hahn.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+    private int index;
+    private Long taskId;
+    private BulkItemStatus status;
+    private String message;
+
+    public boolean isSucceeded() {
+        return status.isSuccess();
+    }
+}
@@ -0,0 +1,17 @@
+package com.hahn.taskmanager.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum BulkItemStatus {
+    CREATED(true),
+    UPDATED(true),
+    UNCHANGED(true),
+    DELETED(true),
+    INVALID(false),
+    NOT_FOUND(false);
+
+    private final boolean success;
+}
@@ -0,0 +1,22 @@
+package com.hahn.taskmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskDeleteRequest {
+
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = BulkTaskResponse.MAX_ITEMS, message = "At most " + BulkTaskResponse.MAX_ITEMS + " tasks per request")
+    private List<@NotNull(message = "Task id is required") Long> taskIds;
+}
@@ -0,0 +1,29 @@
+package com.hahn.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResponse {
+    public static final int MAX_ITEMS = 1000;
+
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+
+    public static BulkTaskResponse of(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::isSucceeded).count();
+        return BulkTaskResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
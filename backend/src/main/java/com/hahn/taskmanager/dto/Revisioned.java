@@ -0,0 +1,13 @@
+package com.hahn.taskmanager.dto;
+
+import lombok.Value;
+
+/**
+ * A response body together with the revision read right before it, in the same
+ * transaction, so the body is at least as new as the revision it is tagged with.
+ */
+@Value
+public class Revisioned<T> {
+    long revision;
+    T body;
+}
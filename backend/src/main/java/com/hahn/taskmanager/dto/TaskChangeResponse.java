@@ -0,0 +1,19 @@
+package com.hahn.taskmanager.dto;
+
+import com.hahn.taskmanager.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeResponse {
+    private ChangeType type;
+    private Long projectId;
+    private Long taskId;
+    // State after the change; for deletions the state right before removal
+    private TaskResponse task;
+}
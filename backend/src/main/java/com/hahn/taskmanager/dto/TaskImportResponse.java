@@ -0,0 +1,22 @@
+package com.hahn.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private int imported;
+    private int failed;
+    private boolean aborted;
+    // The first MAX_REPORTED_ERRORS rejected rows, indexed by 1-based row number
+    private List<BulkItemResult> errors;
+}
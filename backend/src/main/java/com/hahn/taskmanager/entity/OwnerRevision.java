@@ -0,0 +1,20 @@
+package com.hahn.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "owner_revisions")
+public class OwnerRevision {
+
+    @Id
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private long revision;
+}
@@ -5,6 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.hahn.taskmanager.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,10 +20,14 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "projects")
+@SQLRestriction("deleted_at IS NULL")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECTS)
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +41,20 @@ public class Project {
 
     private LocalDateTime updatedAt;
 
+    // Maintained by atomic UPDATE statements in ProjectRepository, never by entity flushes
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int totalTasks;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int completedTasks;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long revision;
+
+    // Set by ProjectRepository.markDeleted; the row is removed later by DeletionPurger
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
@@ -52,18 +74,10 @@ public class Project {
         updatedAt = LocalDateTime.now();
     }
 
-    public int getTotalTasks() {
-        return tasks.size();
-    }
-
-    public int getCompletedTasks() {
-        return (int) tasks.stream().filter(Task::isCompleted).count();
-    }
-
     public double getProgressPercentage() {
-        if (tasks.isEmpty()) {
+        if (totalTasks == 0) {
             return 0.0;
         }
-        return (double) getCompletedTasks() / getTotalTasks() * 100;
+        return (double) completedTasks / totalTasks * 100;
     }
 }
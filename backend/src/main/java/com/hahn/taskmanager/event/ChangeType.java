@@ -0,0 +1,8 @@
+package com.hahn.taskmanager.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    TOGGLED,
+    DELETED
+}
@@ -0,0 +1,24 @@
+package com.hahn.taskmanager.event;
+
+import com.hahn.taskmanager.dto.ProjectResponse;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Published by {@code ProjectService} inside the changing transaction. {@code project}
+ * is {@code null} for deletions. Changes committed by another node arrive with
+ * {@code remote} set and outside any transaction.
+ */
+@Value
+@AllArgsConstructor
+public class ProjectChangedEvent {
+    ChangeType type;
+    Long ownerId;
+    Long projectId;
+    ProjectResponse project;
+    boolean remote;
+
+    public ProjectChangedEvent(ChangeType type, Long ownerId, Long projectId, ProjectResponse project) {
+        this(type, ownerId, projectId, project, false);
+    }
+}
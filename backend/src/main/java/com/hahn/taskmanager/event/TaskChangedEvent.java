@@ -0,0 +1,30 @@
+package com.hahn.taskmanager.event;
+
+import com.hahn.taskmanager.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Published by {@code TaskService} inside the changing transaction; listeners that
+ * must only see committed state use {@code @TransactionalEventListener}. For deletions
+ * {@code task} is the state right before the task was removed. Changes committed by
+ * another node arrive with {@code remote} set and outside any transaction. {@code revision}
+ * is the project revision the change produced; it is shared by all nodes and unique per
+ * change.
+ */
+@Value
+@AllArgsConstructor
+public class TaskChangedEvent {
+    ChangeType type;
+    Long ownerId;
+    Long projectId;
+    Long taskId;
+    TaskResponse task;
+    long revision;
+    boolean remote;
+
+    public TaskChangedEvent(ChangeType type, Long ownerId, Long projectId, Long taskId, TaskResponse task,
+                            long revision) {
+        this(type, ownerId, projectId, taskId, task, revision, false);
+    }
+}
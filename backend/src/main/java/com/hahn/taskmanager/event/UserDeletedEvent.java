@@ -0,0 +1,20 @@
+package com.hahn.taskmanager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Published by {@code UserService} inside the deleting transaction. Deletions committed
+ * by another node arrive with {@code remote} set and outside any transaction.
+ */
+@Value
+@AllArgsConstructor
+public class UserDeletedEvent {
+    Long userId;
+    String email;
+    boolean remote;
+
+    public UserDeletedEvent(Long userId, String email) {
+        this(userId, email, false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hahn.taskmanager.repository;
+
+import com.hahn.taskmanager.entity.OwnerRevision;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OwnerRevisionRepository extends JpaRepository<OwnerRevision, Long> {
+
+    @Query("SELECT r.revision FROM OwnerRevision r WHERE r.ownerId = :ownerId")
+    Optional<Long> findRevision(@Param("ownerId") Long ownerId);
+
+    // Without the table name Hibernate would clear every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "owner_revisions"))
+    @Query(value = "INSERT INTO owner_revisions (owner_id, revision) VALUES (:ownerId, 1) " +
+            "ON CONFLICT (owner_id) DO UPDATE SET revision = owner_revisions.revision + 1",
+            nativeQuery = true)
+    void bump(@Param("ownerId") Long ownerId);
+}
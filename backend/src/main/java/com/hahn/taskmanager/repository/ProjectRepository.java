@@ -1,27 +1,139 @@
 package com.hahn.taskmanager.repository;
 
+import com.hahn.taskmanager.dto.ProjectResponse;
 import com.hahn.taskmanager.entity.Project;
 import com.hahn.taskmanager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByOwnerOrderByCreatedAtDesc(User owner);
-    
-    Page<Project> findByOwnerOrderByCreatedAtDesc(User owner, Pageable pageable);
-    
-    Optional<Project> findByIdAndOwner(Long id, User owner);
-    
-    @Query("SELECT p FROM Project p WHERE p.owner = :owner AND LOWER(p.title) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Project> searchByTitle(@Param("owner") User owner, @Param("search") String search);
-    
+    String PROJECT_RESPONSE = "SELECT new com.hahn.taskmanager.dto.ProjectResponse(" +
+            "p.id, p.title, p.description, p.createdAt, p.updatedAt, p.totalTasks, p.completedTasks, " +
+            "CASE WHEN p.totalTasks = 0 THEN 0.0 ELSE p.completedTasks * 100.0 / p.totalTasks END) " +
+            "FROM Project p ";
+
+    // Counter and revision updates name a space no entity maps to: "projects" would clear the
+    // whole projects region, and no cached query reads these columns. Callers keep the one
+    // project they change out of the cache with SecondLevelCache.lockProject.
+    String COUNTER_SPACE = "project_counters";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByIdAndOwner(Long id, User owner);
+
+    @Query("SELECT p.revision FROM Project p WHERE p.id = :id AND p.owner = :owner")
+    Optional<Long> findRevision(@Param("id") Long id, @Param("owner") User owner);
+
+    // Full scans would only push the hot entries out of the second-level cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query(PROJECT_RESPONSE + "WHERE p.owner = :owner ORDER BY p.createdAt DESC")
+    List<ProjectResponse> findResponsesByOwner(@Param("owner") User owner);
+
+    @Query(value = PROJECT_RESPONSE + "WHERE p.owner = :owner ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE p.owner = :owner")
+    Page<ProjectResponse> findResponsesByOwner(@Param("owner") User owner, Pageable pageable);
+
+    @Query(PROJECT_RESPONSE + "WHERE p.owner = :owner ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProjectResponse> findFirstResponsePage(@Param("owner") User owner, Limit limit);
+
+    @Query(PROJECT_RESPONSE + "WHERE p.owner = :owner AND (p.createdAt, p.id) < (:createdAt, :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProjectResponse> findResponsePageAfter(@Param("owner") User owner,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(value = "SELECT p.* FROM projects p, to_tsquery('simple', :query) q " +
+            "WHERE p.owner_id = :ownerId AND p.deleted_at IS NULL AND p.search_vector @@ q " +
+            "ORDER BY ts_rank(p.search_vector, q) DESC, p.created_at DESC, p.id DESC",
+            nativeQuery = true)
+    List<Project> searchByText(@Param("ownerId") Long ownerId, @Param("query") String query, Pageable pageable);
+
+    // Each returns the new revision, which advances by one per changed task so that every
+    // task change event gets a revision of its own
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+    @Query(value = "UPDATE projects SET revision = revision + 1 WHERE id = :id AND deleted_at IS NULL " +
+            "RETURNING revision",
+            nativeQuery = true)
+    Optional<Long> bumpRevision(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+    @Query(value = "UPDATE projects SET total_tasks = total_tasks + :totalDelta, " +
+            "completed_tasks = completed_tasks + :completedDelta, revision = revision + :changes " +
+            "WHERE id = :id AND deleted_at IS NULL RETURNING revision",
+            nativeQuery = true)
+    Optional<Long> adjustTaskCounters(@Param("id") Long id,
+                                      @Param("totalDelta") int totalDelta,
+                                      @Param("completedDelta") int completedDelta,
+                                      @Param("changes") int changes);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+    @Query(value = "UPDATE projects SET total_tasks = total_tasks + :totalDelta, " +
+            "completed_tasks = completed_tasks + :completedDelta, revision = revision + :changes " +
+            "WHERE id = :id AND owner_id = :ownerId AND deleted_at IS NULL RETURNING revision",
+            nativeQuery = true)
+    Optional<Long> adjustTaskCountersIfOwned(@Param("id") Long id,
+                                             @Param("ownerId") Long ownerId,
+                                             @Param("totalDelta") int totalDelta,
+                                             @Param("completedDelta") int completedDelta,
+                                             @Param("changes") int changes);
+
+    // Counted without locks, so a change committing meanwhile can make a project look drifted
+    @Query(value = "SELECT p.id FROM projects p LEFT JOIN tasks t ON t.project_id = p.id " +
+            "WHERE p.deleted_at IS NULL GROUP BY p.id " +
+            "HAVING p.total_tasks <> COUNT(t.id) OR p.completed_tasks <> COUNT(t.id) FILTER (WHERE t.completed)",
+            nativeQuery = true)
+    List<Long> findIdsWithDriftedCounters();
+
+    @Query(value = "SELECT id FROM projects WHERE id IN (:ids) AND deleted_at IS NULL ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Run on rows locked by an earlier statement, so the counts include every committed change
+    @Query(value = "WITH repaired AS (" +
+            "UPDATE projects p SET total_tasks = c.total, completed_tasks = c.completed, revision = p.revision + 1 " +
+            "FROM (SELECT p2.id, COUNT(t.id) AS total, COUNT(t.id) FILTER (WHERE t.completed) AS completed " +
+            "FROM projects p2 LEFT JOIN tasks t ON t.project_id = p2.id WHERE p2.id IN (:ids) GROUP BY p2.id) c " +
+            "WHERE p.id = c.id AND (p.total_tasks <> c.total OR p.completed_tasks <> c.completed) " +
+            "RETURNING p.owner_id), " +
+            "owners AS (INSERT INTO owner_revisions (owner_id, revision) SELECT DISTINCT owner_id, 1 FROM repaired " +
+            "ON CONFLICT (owner_id) DO UPDATE SET revision = owner_revisions.revision + 1) " +
+            "SELECT COUNT(*) FROM repaired",
+            nativeQuery = true)
+    int reconcileTaskCounters(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.deletedAt = :now WHERE p.id = :id AND p.owner = :owner AND p.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("owner") User owner, @Param("now") LocalDateTime now);
+
+    @Query(value = "UPDATE projects SET deleted_at = :now WHERE owner_id = :ownerId AND deleted_at IS NULL " +
+            "RETURNING id",
+            nativeQuery = true)
+    List<Long> markDeletedByOwner(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id FROM projects WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id", nativeQuery = true)
+    List<Long> findDeletedIds(Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = "DELETE FROM projects p WHERE p.id = :id AND p.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = p.id)",
+            nativeQuery = true)
+    int purgeIfEmpty(@Param("id") Long id);
 }
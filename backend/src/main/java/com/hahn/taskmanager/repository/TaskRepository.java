@@ -2,15 +2,26 @@ package com.hahn.taskmanager.repository;
 
 import com.hahn.taskmanager.entity.Project;
 import com.hahn.taskmanager.entity.Task;
+import com.hahn.taskmanager.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -18,10 +29,74 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     Page<Task> findByProjectOrderByCreatedAtDesc(Project project, Pageable pageable);
     
+    List<Task> findByProjectOrderByCreatedAtDescIdDesc(Project project, Limit limit);
+
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.project.owner = :owner " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<Task> streamByProject(@Param("projectId") Long projectId, @Param("owner") User owner);
+
+    @Query("SELECT t FROM Task t WHERE t.project = :project AND (t.createdAt, t.id) < (:createdAt, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageAfter(@Param("project") Project project,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Limit limit);
+    
     Optional<Task> findByIdAndProject(Long id, Project project);
+
+    Optional<Task> findByIdAndProjectIdAndProjectOwnerId(Long id, Long projectId, Long ownerId);
+
+    @Query(value = "WITH toggled AS (" +
+            "UPDATE tasks t SET completed = NOT t.completed, " +
+            "completed_at = CASE WHEN t.completed THEN NULL ELSE CAST(:now AS timestamp) END, updated_at = :now " +
+            "FROM projects p WHERE t.id = :id AND t.project_id = :projectId " +
+            "AND p.id = t.project_id AND p.owner_id = :ownerId AND p.deleted_at IS NULL RETURNING t.*), " +
+            "counters AS (UPDATE projects p SET completed_tasks = p.completed_tasks + " +
+            "CASE WHEN toggled.completed THEN 1 ELSE -1 END, revision = p.revision + 1 " +
+            "FROM toggled WHERE p.id = toggled.project_id) " +
+            "SELECT * FROM toggled",
+            nativeQuery = true)
+    Optional<Task> toggleCompletion(@Param("id") Long id,
+                                    @Param("projectId") Long projectId,
+                                    @Param("ownerId") Long ownerId,
+                                    @Param("now") LocalDateTime now);
+
+    @Query(value = "WITH deleted AS (" +
+            "DELETE FROM tasks t USING projects p WHERE t.id = :id AND t.project_id = :projectId " +
+            "AND p.id = t.project_id AND p.owner_id = :ownerId AND p.deleted_at IS NULL RETURNING t.*), " +
+            "counters AS (UPDATE projects p SET total_tasks = p.total_tasks - 1, completed_tasks = " +
+            "p.completed_tasks - CASE WHEN deleted.completed THEN 1 ELSE 0 END, revision = p.revision + 1 " +
+            "FROM deleted WHERE p.id = deleted.project_id) " +
+            "SELECT * FROM deleted",
+            nativeQuery = true)
+    Optional<Task> deleteReturning(@Param("id") Long id,
+                                   @Param("projectId") Long projectId,
+                                   @Param("ownerId") Long ownerId);
+
+    // SKIP LOCKED lets purgers on several nodes work on the same project without waiting
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "DELETE FROM tasks WHERE id IN (" +
+            "SELECT id FROM tasks WHERE project_id = :projectId LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int purgeChunk(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    // Locked in id order so that overlapping bulk calls wait for each other instead of
+    // both applying their counter changes, and cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Task> findByProjectAndIdInOrderByIdAsc(Project project, Collection<Long> ids);
     
-    @Query("SELECT t FROM Task t WHERE t.project = :project AND LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Task> searchByTitle(@Param("project") Project project, @Param("search") String search);
+    @Query(value = "SELECT t.* FROM tasks t, to_tsquery('simple', :query) q " +
+            "WHERE t.project_id = :projectId AND t.search_vector @@ q " +
+            "ORDER BY ts_rank(t.search_vector, q) DESC, t.created_at DESC, t.id DESC",
+            nativeQuery = true)
+    List<Task> searchByText(@Param("projectId") Long projectId, @Param("query") String query, Pageable pageable);
     
     @Query("SELECT t FROM Task t WHERE t.project = :project AND t.completed = :completed")
     List<Task> findByProjectAndCompleted(@Param("project") Project project, @Param("completed") boolean completed);
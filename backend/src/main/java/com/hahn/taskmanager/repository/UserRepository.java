@@ -1,13 +1,36 @@
 package com.hahn.taskmanager.repository;
 
 import com.hahn.taskmanager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Principal lookups for issued tokens; logins use findByEmail
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findPrincipalByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :now WHERE u.id = :id AND u.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "DELETE FROM users u WHERE u.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM projects p WHERE p.owner_id = u.id)",
+            nativeQuery = true)
+    int purgeDeletedWithoutProjects();
 }
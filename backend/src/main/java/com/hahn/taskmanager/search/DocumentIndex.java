@@ -0,0 +1,101 @@
+package com.hahn.taskmanager.search;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index over the title and description of one kind of document. Terms live in
+ * a sorted dictionary so a query term matches every indexed term it is a prefix of, the
+ * same way {@code to_tsquery('simple', 'term:*')} does. Not thread-safe.
+ */
+class DocumentIndex<T> {
+
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, T> documents = new HashMap<>();
+    private final Map<Long, Collection<String>> documentTerms = new HashMap<>();
+
+    T get(Long id) {
+        return documents.get(id);
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    T put(Long id, String title, String description, T document) {
+        T previous = remove(id);
+        Map<String, Float> weights = new HashMap<>();
+        SearchTerms.tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Float::sum));
+        SearchTerms.tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+        documents.put(id, document);
+        documentTerms.put(id, weights.keySet());
+        return previous;
+    }
+
+    T remove(Long id) {
+        Collection<String> terms = documentTerms.remove(id);
+        if (terms != null) {
+            for (String term : terms) {
+                Map<Long, Float> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        return documents.remove(id);
+    }
+
+    /**
+     * Documents containing every term as a prefix of one of their words, ranked by the
+     * summed weight of the best matching word per term and then by {@code tieBreak}.
+     */
+    List<T> search(List<String> terms, Comparator<T> tieBreak, Pageable pageable) {
+        Map<Long, Float> scores = null;
+        for (String term : terms) {
+            Map<Long, Float> termScores = new HashMap<>();
+            for (Map<Long, Float> posting : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                posting.forEach((id, weight) -> termScores.merge(id, weight, Math::max));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+
+        Map<Long, Float> ranked = scores;
+        Comparator<Long> order = Comparator.<Long, Float>comparing(ranked::get).reversed()
+                .thenComparing(documents::get, tieBreak);
+        List<Long> ids = new ArrayList<>(ranked.keySet());
+        ids.sort(order);
+        long from = pageable.getOffset();
+        if (from >= ids.size()) {
+            return List.of();
+        }
+        return ids.subList((int) from, (int) Math.min(from + pageable.getPageSize(), ids.size()))
+                .stream()
+                .map(documents::get)
+                .collect(Collectors.toList());
+    }
+}
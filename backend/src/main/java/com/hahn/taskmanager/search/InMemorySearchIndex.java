@@ -0,0 +1,249 @@
+package com.hahn.taskmanager.search;
+
+import com.hahn.taskmanager.dto.ProjectResponse;
+import com.hahn.taskmanager.dto.TaskResponse;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.TaskChangedEvent;
+import com.hahn.taskmanager.exception.ResourceNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user in-memory search over projects and tasks, for deployments where search should
+ * not hit the database. Kept current from committed {@link ProjectChangedEvent}s and
+ * {@link TaskChangedEvent}s and rebuilt from the database by {@code SearchIndexRebuilder}.
+ * Project task counters are derived from the indexed tasks.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+public class InMemorySearchIndex {
+
+    private static final Comparator<ProjectResponse> NEWEST_PROJECT_FIRST = Comparator
+            .comparing(ProjectResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProjectResponse::getId, Comparator.reverseOrder());
+    private static final Comparator<TaskResponse> NEWEST_TASK_FIRST = Comparator
+            .comparing(TaskResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TaskResponse::getId, Comparator.reverseOrder());
+
+    private final Object writeMonitor = new Object();
+    private volatile Map<Long, OwnerIndex> owners = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private List<Object> eventsDuringRebuild;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<ProjectResponse> searchProjects(Long ownerId, String search, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<String> terms = SearchTerms.of(search);
+        OwnerIndex index = owners.get(ownerId);
+        if (terms.isEmpty() || index == null) {
+            return List.of();
+        }
+        return index.read(() -> index.projects.search(terms, NEWEST_PROJECT_FIRST, pageable)
+                .stream()
+                .map(index::withCounters)
+                .collect(Collectors.toList()));
+    }
+
+    public List<TaskResponse> searchTasks(Long ownerId, Long projectId, String search, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<String> terms = SearchTerms.of(search);
+        OwnerIndex index = owners.get(ownerId);
+        if (index == null) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return index.read(() -> {
+            if (index.projects.get(projectId) == null) {
+                throw new ResourceNotFoundException("Project not found with id: " + projectId);
+            }
+            ProjectTasks tasks = index.tasks.get(projectId);
+            if (terms.isEmpty() || tasks == null) {
+                return List.of();
+            }
+            return tasks.index.search(terms, NEWEST_TASK_FIRST, pageable);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        record(event);
+    }
+
+    /**
+     * Replaces the index with the documents passed to {@code loader}. Changes committed
+     * while the loader runs are replayed on top of the new index before it is swapped in,
+     * and searches keep using the previous index until then.
+     */
+    public void rebuild(Consumer<Rebuild> loader) {
+        synchronized (writeMonitor) {
+            eventsDuringRebuild = new ArrayList<>();
+        }
+        Map<Long, OwnerIndex> rebuilt = new ConcurrentHashMap<>();
+        try {
+            loader.accept(new Rebuild(rebuilt));
+            synchronized (writeMonitor) {
+                eventsDuringRebuild.forEach(event -> apply(rebuilt, event));
+                owners = rebuilt;
+                ready = true;
+            }
+        } finally {
+            synchronized (writeMonitor) {
+                eventsDuringRebuild = null;
+            }
+        }
+    }
+
+    private void record(Object event) {
+        synchronized (writeMonitor) {
+            if (eventsDuringRebuild != null) {
+                eventsDuringRebuild.add(event);
+            }
+            apply(owners, event);
+        }
+    }
+
+    private static void apply(Map<Long, OwnerIndex> owners, Object event) {
+        if (event instanceof ProjectChangedEvent projectEvent) {
+            apply(owners, projectEvent);
+        } else if (event instanceof TaskChangedEvent taskEvent) {
+            apply(owners, taskEvent);
+        }
+    }
+
+    private static void apply(Map<Long, OwnerIndex> owners, ProjectChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            OwnerIndex index = owners.get(event.getOwnerId());
+            if (index != null) {
+                index.write(() -> index.removeProject(event.getProjectId()));
+            }
+            return;
+        }
+        OwnerIndex index = owners.computeIfAbsent(event.getOwnerId(), ownerId -> new OwnerIndex());
+        index.write(() -> index.putProject(event.getProject()));
+    }
+
+    private static void apply(Map<Long, OwnerIndex> owners, TaskChangedEvent event) {
+        OwnerIndex index = owners.computeIfAbsent(event.getOwnerId(), ownerId -> new OwnerIndex());
+        index.write(() -> {
+            ProjectTasks tasks = index.tasks.computeIfAbsent(event.getProjectId(), projectId -> new ProjectTasks());
+            if (event.getType() == ChangeType.DELETED) {
+                tasks.remove(event.getTaskId());
+            } else {
+                tasks.put(event.getTask());
+            }
+        });
+    }
+
+    public static final class Rebuild {
+
+        private final Map<Long, OwnerIndex> owners;
+
+        private Rebuild(Map<Long, OwnerIndex> owners) {
+            this.owners = owners;
+        }
+
+        public void addProject(Long ownerId, ProjectResponse project) {
+            owners.computeIfAbsent(ownerId, id -> new OwnerIndex()).putProject(project);
+        }
+
+        public void addTask(Long ownerId, TaskResponse task) {
+            owners.computeIfAbsent(ownerId, id -> new OwnerIndex())
+                    .tasks.computeIfAbsent(task.getProjectId(), id -> new ProjectTasks())
+                    .put(task);
+        }
+    }
+
+    private static final class OwnerIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final DocumentIndex<ProjectResponse> projects = new DocumentIndex<>();
+        private final Map<Long, ProjectTasks> tasks = new HashMap<>();
+
+        <T> T read(Supplier<T> query) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                return query.get();
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        void write(Runnable change) {
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                change.run();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void putProject(ProjectResponse project) {
+            projects.put(project.getId(), project.getTitle(), project.getDescription(), project);
+        }
+
+        void removeProject(Long projectId) {
+            projects.remove(projectId);
+            tasks.remove(projectId);
+        }
+
+        ProjectResponse withCounters(ProjectResponse project) {
+            ProjectTasks projectTasks = tasks.get(project.getId());
+            int total = projectTasks == null ? 0 : projectTasks.index.size();
+            int completed = projectTasks == null ? 0 : projectTasks.completed;
+            return ProjectResponse.builder()
+                    .id(project.getId())
+                    .title(project.getTitle())
+                    .description(project.getDescription())
+                    .createdAt(project.getCreatedAt())
+                    .updatedAt(project.getUpdatedAt())
+                    .totalTasks(total)
+                    .completedTasks(completed)
+                    .progressPercentage(total == 0 ? 0.0 : (double) completed / total * 100)
+                    .build();
+        }
+    }
+
+    private static final class ProjectTasks {
+
+        private final DocumentIndex<TaskResponse> index = new DocumentIndex<>();
+        private int completed;
+
+        void put(TaskResponse task) {
+            TaskResponse previous = index.put(task.getId(), task.getTitle(), task.getDescription(), task);
+            completed += (task.isCompleted() ? 1 : 0) - (previous != null && previous.isCompleted() ? 1 : 0);
+        }
+
+        void remove(Long taskId) {
+            TaskResponse previous = index.remove(taskId);
+            if (previous != null && previous.isCompleted()) {
+                completed--;
+            }
+        }
+    }
+}
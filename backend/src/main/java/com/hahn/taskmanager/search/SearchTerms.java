@@ -0,0 +1,72 @@
+package com.hahn.taskmanager.search;
+
+import com.hahn.taskmanager.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Normalized terms of a user supplied search string: lower-cased runs of letters and
+ * digits, which is also how the {@code simple} text search configuration tokenizes.
+ */
+public final class SearchTerms {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+
+    private SearchTerms() {
+    }
+
+    /** Rejects negative pages and page sizes outside {@code 1..MAX_PAGE_SIZE} with a 400. */
+    public static void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public static List<String> of(String search) {
+        if (search == null) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(search.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Every term of an indexed document, in order and including repeats.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds a {@code to_tsquery} expression matching documents that contain every term,
+     * treating each term as a prefix so partially typed words still match. Returns
+     * {@code null} when the search has no terms.
+     */
+    public static String toPrefixTsQuery(String search) {
+        List<String> terms = of(search);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
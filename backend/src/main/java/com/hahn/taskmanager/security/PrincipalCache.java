@@ -0,0 +1,83 @@
+package com.hahn.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hahn.taskmanager.event.UserDeletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by token subject and
+ * issue time, so that requests carrying an already-seen token skip the user lookup.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Cache<Key, UserDetails> cache;
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.max-size}") long maxSize,
+            @Value("${app.security.principal-cache.ttl}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String username, Date issuedAt, Function<String, UserDetails> loader) {
+        return cache.get(new Key(username, issuedAt == null ? 0L : issuedAt.getTime()),
+                key -> loader.apply(key.username()));
+    }
+
+    public void invalidate(String username) {
+        cache.asMap().keySet().removeIf(key -> key.username().equals(username));
+    }
+
+    /**
+     * Invalidates once the surrounding transaction commits, so a concurrent request cannot
+     * re-cache the old state in between; invalidates immediately outside a transaction.
+     */
+    public void invalidateAfterCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(username);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principals");
+    }
+
+    private record Key(String username, long issuedAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.hahn.taskmanager.security;
+
+import com.hahn.taskmanager.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidationListener {
+
+    private final PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        principalCache.invalidateAfterCommit(user.getEmail());
+    }
+}
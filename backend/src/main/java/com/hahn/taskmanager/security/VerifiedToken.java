@@ -0,0 +1,35 @@
+package com.hahn.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked.
+ */
+@Value
+public class VerifiedToken {
+    Claims claims;
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return getExpiration().before(new Date());
+    }
+
+    public boolean isValidFor(UserDetails userDetails) {
+        return getSubject().equals(userDetails.getUsername()) && !isExpired();
+    }
+}
@@ -1,5 +1,6 @@
 package com.hahn.taskmanager.service;
 
+import com.hahn.taskmanager.config.MetricsConfig;
 import com.hahn.taskmanager.dto.AuthResponse;
 import com.hahn.taskmanager.dto.LoginRequest;
 import com.hahn.taskmanager.dto.RegisterRequest;
@@ -7,6 +8,7 @@ import com.hahn.taskmanager.entity.User;
 import com.hahn.taskmanager.exception.BadRequestException;
 import com.hahn.taskmanager.repository.UserRepository;
 import com.hahn.taskmanager.security.JwtService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_CALLS)
 @RequiredArgsConstructor
 public class AuthService {
 
@@ -0,0 +1,341 @@
+package com.hahn.taskmanager.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.taskmanager.dto.ProjectResponse;
+import com.hahn.taskmanager.dto.TaskResponse;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.TaskChangedEvent;
+import com.hahn.taskmanager.event.UserDeletedEvent;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps node-local caches, the search index and event streams coherent across several
+ * backend nodes without a message broker. Committed task and project changes are sent as
+ * PostgreSQL {@code NOTIFY} payloads on one channel, and every node listens on a dedicated
+ * connection and republishes changes from other nodes as remote application events.
+ *
+ * <p>Notifications are issued inside the changing transaction, one statement per
+ * transaction, so PostgreSQL delivers them exactly when the transaction commits and never
+ * for a rollback. Payloads that would exceed the 8000 byte limit are sent without the
+ * task or project state, which receiving nodes then read from the database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.change-propagation.enabled", havingValue = "true")
+@Slf4j
+public class ChangePropagator {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskService taskService;
+    private final ProjectService projectService;
+    private final ListingCache listingCache;
+    private final SecondLevelCache secondLevelCache;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final ObjectProvider<SearchIndexRebuilder> searchIndexRebuilder;
+    private final TransactionTemplate primaryRead;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    public ChangePropagator(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            TaskService taskService,
+            ProjectService projectService,
+            ListingCache listingCache,
+            SecondLevelCache secondLevelCache,
+            TaskEventBroadcaster taskEventBroadcaster,
+            ObjectProvider<SearchIndexRebuilder> searchIndexRebuilder,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.change-propagation.channel}") String channel,
+            @Value("${app.change-propagation.reconnect-delay}") Duration reconnectDelay
+    ) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid change propagation channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskService = taskService;
+        this.projectService = projectService;
+        this.listingCache = listingCache;
+        this.secondLevelCache = secondLevelCache;
+        this.taskEventBroadcaster = taskEventBroadcaster;
+        this.searchIndexRebuilder = searchIndexRebuilder;
+        // Not read-only, so the state is never read from a replica that has not replayed the change
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!event.isRemote()) {
+            enqueue(new Notification(nodeId, Notification.TASK, event.getType(), event.getOwnerId(),
+                    event.getProjectId(), event.getTaskId(), event.getRevision(), event.getTask(), null, null));
+        }
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (!event.isRemote()) {
+            enqueue(new Notification(nodeId, Notification.PROJECT, event.getType(), event.getOwnerId(),
+                    event.getProjectId(), null, null, null, event.getProject(), null));
+        }
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (!event.isRemote()) {
+            enqueue(new Notification(nodeId, Notification.USER, ChangeType.DELETED, event.getUserId(),
+                    null, null, null, null, null, event.getEmail()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void enqueue(Notification notification) {
+        String payload = encode(notification);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(payload));
+            return;
+        }
+        PendingNotifications pending = (PendingNotifications) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingNotifications();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        if (pending.sent) {
+            // Published while the transaction flushes; the connection is still inside it
+            send(List.of(payload));
+        } else {
+            pending.payloads.add(payload);
+        }
+    }
+
+    private String encode(Notification notification) {
+        try {
+            String payload = objectMapper.writeValueAsString(notification);
+            if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                return payload;
+            }
+            return objectMapper.writeValueAsString(notification.withoutState());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode change notification", e);
+        }
+    }
+
+    private void send(List<String> payloads) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Array array = connection.createArrayOf("text", payloads.toArray());
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT pg_notify(?, payload) FROM unnest(?) AS payload")) {
+                statement.setString(1, channel);
+                statement.setArray(2, array);
+                statement.execute();
+            } finally {
+                array.free();
+            }
+            return null;
+        });
+    }
+
+    private void listen() {
+        boolean resync = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for changes from other nodes on channel {}", channel);
+                if (resync) {
+                    resync();
+                }
+                resync = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change notification connection failed, reconnecting in {}", reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Notification notification = objectMapper.readValue(payload, Notification.class);
+            if (nodeId.equals(notification.node())) {
+                return;
+            }
+            if (Notification.TASK.equals(notification.kind())) {
+                TaskResponse task = notification.task();
+                if (task == null && notification.type() != ChangeType.DELETED) {
+                    task = primaryRead.execute(status -> taskRepository.findById(notification.taskId())
+                            .map(taskService::mapToResponse).orElse(null));
+                    if (task == null) {
+                        // Deleted since; its own notification follows
+                        return;
+                    }
+                }
+                eventPublisher.publishEvent(new TaskChangedEvent(notification.type(), notification.ownerId(),
+                        notification.projectId(), notification.taskId(), task, notification.revision(), true));
+            } else if (Notification.PROJECT.equals(notification.kind())) {
+                ProjectResponse project = notification.project();
+                if (project == null && notification.type() != ChangeType.DELETED) {
+                    project = primaryRead.execute(status -> projectRepository.findById(notification.projectId())
+                            .map(projectService::mapToResponse).orElse(null));
+                    if (project == null) {
+                        return;
+                    }
+                }
+                eventPublisher.publishEvent(new ProjectChangedEvent(notification.type(), notification.ownerId(),
+                        notification.projectId(), project, true));
+            } else if (Notification.USER.equals(notification.kind())) {
+                eventPublisher.publishEvent(new UserDeletedEvent(notification.ownerId(), notification.email(), true));
+            }
+        } catch (Exception e) {
+            log.warn("Could not apply change notification {}", payload, e);
+        }
+    }
+
+    /**
+     * Changes committed while the listen connection was down were never delivered, so
+     * everything derived from them is dropped or rebuilt.
+     */
+    private void resync() {
+        log.info("Resynchronizing node-local state after reconnecting");
+        listingCache.invalidateAll();
+        secondLevelCache.evictAll();
+        taskEventBroadcaster.resetAll();
+        searchIndexRebuilder.ifAvailable(SearchIndexRebuilder::rebuild);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close change notification connection", e);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Notification(String node, String kind, ChangeType type, Long ownerId, Long projectId, Long taskId,
+                        Long revision, TaskResponse task, ProjectResponse project, String email) {
+
+        static final String TASK = "task";
+        static final String PROJECT = "project";
+        static final String USER = "user";
+
+        Notification withoutState() {
+            return new Notification(node, kind, type, ownerId, projectId, taskId, revision, null, null, email);
+        }
+    }
+
+    private final class PendingNotifications implements TransactionSynchronization {
+
+        private final List<String> payloads = new ArrayList<>();
+        private boolean sent;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            sent = true;
+            if (!payloads.isEmpty()) {
+                send(payloads);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangePropagator.this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.TaskRepository;
+import com.hahn.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes soft-deleted projects and users. Tasks are deleted in chunks of
+ * {@code app.purge.chunk-size}, each in its own short transaction with a pause in between,
+ * so that a project with millions of tasks never holds locks or produces WAL in one large
+ * transaction. Progress lives in the database itself: a purge interrupted by a restart
+ * continues with the tasks that are left.
+ */
+@Component
+@Slf4j
+public class DeletionPurger implements MeterBinder {
+
+    private static final int PROJECTS_PER_RUN = 100;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final AtomicLong purgedTasks = new AtomicLong();
+    private final AtomicLong purgedProjects = new AtomicLong();
+
+    public DeletionPurger(
+            ProjectRepository projectRepository,
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.purge.chunk-size}") int chunkSize,
+            @Value("${app.purge.chunk-pause}") Duration chunkPause
+    ) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.interval}")
+    public void purge() {
+        List<Long> projectIds = projectRepository.findDeletedIds(Limit.of(PROJECTS_PER_RUN));
+        for (Long projectId : projectIds) {
+            if (!purgeProject(projectId)) {
+                return;
+            }
+        }
+        Integer users = transactionTemplate.execute(status -> userRepository.purgeDeletedWithoutProjects());
+        if (users != null && users > 0) {
+            log.info("Purged {} deleted user(s)", users);
+        }
+    }
+
+    private boolean purgeProject(Long projectId) {
+        long start = System.nanoTime();
+        long deleted = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> taskRepository.purgeChunk(projectId, chunkSize));
+            if (chunk == null || chunk == 0) {
+                break;
+            }
+            deleted += chunk;
+            purgedTasks.addAndGet(chunk);
+            log.debug("Purged {} task(s) of deleted project {} so far", deleted, projectId);
+            if (!pause()) {
+                return false;
+            }
+        }
+        Integer removed = transactionTemplate.execute(status -> projectRepository.purgeIfEmpty(projectId));
+        if (removed != null && removed > 0) {
+            purgedProjects.incrementAndGet();
+            log.info("Purged deleted project {} with {} task(s) in {} ms",
+                    projectId, deleted, (System.nanoTime() - start) / 1_000_000);
+        }
+        return true;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("purge.tasks", purgedTasks, AtomicLong::get)
+                .description("Tasks removed from deleted projects")
+                .register(registry);
+        FunctionCounter.builder("purge.projects", purgedProjects, AtomicLong::get)
+                .description("Deleted projects removed from the database")
+                .register(registry);
+    }
+}
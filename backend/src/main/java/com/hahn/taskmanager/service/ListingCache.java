@@ -0,0 +1,140 @@
+package com.hahn.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hahn.taskmanager.dto.ProjectResponse;
+import com.hahn.taskmanager.dto.Revisioned;
+import com.hahn.taskmanager.dto.TaskResponse;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the full project and task listings, so polling clients are
+ * served without a database connection. Misses load in their own read-only transaction.
+ * Entries are evicted once a change commits; an eviction waits for an in-flight load of
+ * the same key and then discards it, so a load that raced with a commit is not kept.
+ * Each entry carries the revision it was loaded at, and an entry older than the revision
+ * the caller just read is reloaded, since its eviction may not have run yet. The cache is
+ * bounded by the rows it holds, so a few very large projects cannot pin the heap; a listing
+ * larger than the whole bound is served but not kept.
+ */
+@Component
+public class ListingCache implements MeterBinder {
+
+    private final Cache<Long, Revisioned<List<ProjectResponse>>> projects;
+    private final Cache<TaskListingKey, Revisioned<List<TaskResponse>>> tasks;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ListingCache(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.listing-cache.max-rows}") long maxRows,
+            @Value("${app.listing-cache.ttl}") Duration ttl
+    ) {
+        this.projects = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher(ListingCache::rows)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.tasks = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher(ListingCache::rows)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Revisioned<List<ProjectResponse>> getProjects(Long ownerId, long revision,
+                                                         Supplier<Revisioned<List<ProjectResponse>>> loader) {
+        return get(projects, ownerId, revision, loader);
+    }
+
+    public Revisioned<List<TaskResponse>> getTasks(Long ownerId, Long projectId, long revision,
+                                                   Supplier<Revisioned<List<TaskResponse>>> loader) {
+        return get(tasks, new TaskListingKey(ownerId, projectId), revision, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        projects.invalidate(event.getOwnerId());
+        if (event.getType() == ChangeType.DELETED) {
+            tasks.invalidate(new TaskListingKey(event.getOwnerId(), event.getProjectId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        tasks.invalidate(new TaskListingKey(event.getOwnerId(), event.getProjectId()));
+        if (event.getType() != ChangeType.UPDATED) {
+            projects.invalidate(event.getOwnerId());
+        }
+    }
+
+    /**
+     * Drops every project listing once the surrounding transaction commits, for changes
+     * to task counters that are not tied to a single owner.
+     */
+    public void invalidateProjectsAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            projects.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                projects.invalidateAll();
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        projects.invalidateAll();
+        tasks.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, projects, "projectListings");
+        CaffeineCacheMetrics.monitor(registry, tasks, "taskListings");
+    }
+
+    private <K, T> Revisioned<List<T>> get(Cache<K, Revisioned<List<T>>> cache, K key, long revision,
+                                           Supplier<Revisioned<List<T>>> loader) {
+        Revisioned<List<T>> listing = cache.get(key, k -> load(loader));
+        if (listing.getRevision() >= revision) {
+            return listing;
+        }
+        return cache.asMap().compute(key, (k, current) ->
+                current != null && current.getRevision() >= revision ? current : load(loader));
+    }
+
+    private <T> Revisioned<List<T>> load(Supplier<Revisioned<List<T>>> loader) {
+        Revisioned<List<T>> listing = readOnlyTransaction.execute(status -> loader.get());
+        return new Revisioned<>(listing.getRevision(), List.copyOf(listing.getBody()));
+    }
+
+    private static int rows(Object key, Revisioned<? extends List<?>> listing) {
+        return listing.getBody().size() + 1;
+    }
+
+    private record TaskListingKey(Long ownerId, Long projectId) {
+    }
+}
@@ -1,26 +1,48 @@
 package com.hahn.taskmanager.service;
 
+import com.hahn.taskmanager.config.MetricsConfig;
+import com.hahn.taskmanager.dto.CursorPage;
+import com.hahn.taskmanager.dto.KeysetCursor;
 import com.hahn.taskmanager.dto.ProjectRequest;
 import com.hahn.taskmanager.dto.ProjectResponse;
+import com.hahn.taskmanager.dto.Revisioned;
 import com.hahn.taskmanager.entity.Project;
 import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
 import com.hahn.taskmanager.exception.ResourceNotFoundException;
+import com.hahn.taskmanager.repository.OwnerRevisionRepository;
 import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.search.InMemorySearchIndex;
+import com.hahn.taskmanager.search.SearchTerms;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_CALLS)
 @RequiredArgsConstructor
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final OwnerRevisionRepository ownerRevisionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<InMemorySearchIndex> searchIndex;
+    private final ListingCache listingCache;
+    private final SecondLevelCache secondLevelCache;
+    private final EntityManager entityManager;
 
     @Transactional
     public ProjectResponse createProject(ProjectRequest request, User owner) {
@@ -31,65 +53,118 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
-        return mapToResponse(savedProject);
+        ownerRevisionRepository.bump(owner.getId());
+        ProjectResponse response = mapToResponse(savedProject);
+        eventPublisher.publishEvent(new ProjectChangedEvent(ChangeType.CREATED, owner.getId(), response.getId(), response));
+        return response;
     }
 
-    @Transactional(readOnly = true)
-    public List<ProjectResponse> getAllProjects(User owner) {
-        return projectRepository.findByOwnerOrderByCreatedAtDesc(owner)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /** The listing at {@code revision} or later, for a revision just read with {@link #getListingRevision}. */
+    public Revisioned<List<ProjectResponse>> getAllProjects(User owner, long revision) {
+        return listingCache.getProjects(owner.getId(), revision, () -> {
+            long loadedRevision = getListingRevision(owner);
+            return new Revisioned<>(loadedRevision, projectRepository.findResponsesByOwner(owner));
+        });
     }
 
     @Transactional(readOnly = true)
     public Page<ProjectResponse> getAllProjectsPaginated(User owner, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return projectRepository.findByOwnerOrderByCreatedAtDesc(owner, pageable)
-                .map(this::mapToResponse);
+        return projectRepository.findResponsesByOwner(owner, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectResponse> getProjectsAfter(User owner, String after, int limit) {
+        CursorPage.validateLimit(limit);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<ProjectResponse> rows = cursor == null
+                ? projectRepository.findFirstResponsePage(owner, fetchLimit)
+                : projectRepository.findResponsePageAfter(owner, cursor.getCreatedAt(), cursor.getId(), fetchLimit);
+        return CursorPage.of(rows, limit, project -> new KeysetCursor(project.getCreatedAt(), project.getId()));
+    }
+
+    /** The project at {@code revision} or later, for a revision just read with {@link #getProjectRevision}. */
+    @Transactional(readOnly = true)
+    public Revisioned<ProjectResponse> getProjectById(Long id, User owner, long revision) {
+        Project project = findOwnedProject(id, owner);
+        if (project.getRevision() < revision) {
+            // Cached before a change whose eviction has not run yet
+            entityManager.refresh(project);
+        }
+        return new Revisioned<>(project.getRevision(), mapToResponse(project));
     }
 
     @Transactional(readOnly = true)
-    public ProjectResponse getProjectById(Long id, User owner) {
-        Project project = projectRepository.findByIdAndOwner(id, owner)
+    public long getProjectRevision(Long id, User owner) {
+        return projectRepository.findRevision(id, owner)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
-        return mapToResponse(project);
+    }
+
+    @Transactional(readOnly = true)
+    public long getListingRevision(User owner) {
+        return ownerRevisionRepository.findRevision(owner.getId()).orElse(0L);
     }
 
     @Transactional(readOnly = true)
     public Project getProjectEntityById(Long id, User owner) {
-        return projectRepository.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+        return findOwnedProject(id, owner);
     }
 
     @Transactional
     public ProjectResponse updateProject(Long id, ProjectRequest request, User owner) {
-        Project project = projectRepository.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+        Project project = findOwnedProject(id, owner);
 
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
 
         Project updatedProject = projectRepository.save(project);
-        return mapToResponse(updatedProject);
+        secondLevelCache.lockProject(id);
+        projectRepository.bumpRevision(id);
+        ownerRevisionRepository.bump(owner.getId());
+        ProjectResponse response = mapToResponse(updatedProject);
+        eventPublisher.publishEvent(new ProjectChangedEvent(ChangeType.UPDATED, owner.getId(), id, response));
+        return response;
     }
 
+    /**
+     * Hides the project at once; its tasks and the row itself are removed in the
+     * background by {@link DeletionPurger}.
+     */
     @Transactional
     public void deleteProject(Long id, User owner) {
-        Project project = projectRepository.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
-        projectRepository.delete(project);
+        if (projectRepository.markDeleted(id, owner, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Project not found with id: " + id);
+        }
+        ownerRevisionRepository.bump(owner.getId());
+        eventPublisher.publishEvent(new ProjectChangedEvent(ChangeType.DELETED, owner.getId(), id, null));
     }
 
     @Transactional(readOnly = true)
-    public List<ProjectResponse> searchProjects(User owner, String search) {
-        return projectRepository.searchByTitle(owner, search)
+    public List<ProjectResponse> searchProjects(User owner, String search, int page, int size) {
+        SearchTerms.validatePage(page, size);
+        InMemorySearchIndex index = searchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return index.searchProjects(owner.getId(), search, page, size);
+        }
+        String query = SearchTerms.toPrefixTsQuery(search);
+        if (query == null) {
+            return List.of();
+        }
+        return projectRepository.searchByText(owner.getId(), query, PageRequest.of(page, size))
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    private ProjectResponse mapToResponse(Project project) {
+    // Loads by id, which the second-level cache serves, and checks the owner on the entity
+    private Project findOwnedProject(Long id, User owner) {
+        return projectRepository.findById(id)
+                .filter(project -> project.getOwner().getId().equals(owner.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+    }
+
+    ProjectResponse mapToResponse(Project project) {
         return ProjectResponse.builder()
                 .id(project.getId())
                 .title(project.getTitle())
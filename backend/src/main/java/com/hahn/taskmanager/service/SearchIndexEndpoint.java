@@ -0,0 +1,26 @@
+package com.hahn.taskmanager.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code POST /actuator/searchindex} on the management port rebuilds the in-memory search
+ * index on demand, e.g. after data was changed directly in the database.
+ */
+@Component
+@Endpoint(id = "searchindex")
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final SearchIndexRebuilder searchIndexRebuilder;
+
+    /** Returns once the rebuilt index is in use. */
+    @WriteOperation
+    public void rebuild() {
+        searchIndexRebuilder.rebuild();
+    }
+}
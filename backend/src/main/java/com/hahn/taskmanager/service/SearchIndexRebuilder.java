@@ -0,0 +1,88 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.Task;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.TaskRepository;
+import com.hahn.taskmanager.search.InMemorySearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Loads every project and task into the {@link InMemorySearchIndex}. Runs once at
+ * startup and then periodically, which also repairs any drift from missed events, and
+ * on demand through {@link SearchIndexEndpoint}.
+ * Reads in id order batches, each in its own read-only transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexRebuilder {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final InMemorySearchIndex searchIndex;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final PlatformTransactionManager transactionManager;
+
+    // Also called on resync and on demand; rebuilds run one at a time
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        int[] counts = new int[2];
+        searchIndex.rebuild(index -> {
+            Map<Long, Long> projectOwners = new HashMap<>();
+            long lastId = 0;
+            List<Project> projects;
+            do {
+                long after = lastId;
+                projects = readOnly(() -> projectRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(BATCH_SIZE)));
+                for (Project project : projects) {
+                    Long ownerId = project.getOwner().getId();
+                    projectOwners.put(project.getId(), ownerId);
+                    index.addProject(ownerId, projectService.mapToResponse(project));
+                    lastId = project.getId();
+                }
+                counts[0] += projects.size();
+            } while (projects.size() == BATCH_SIZE);
+
+            lastId = 0;
+            List<Task> tasks;
+            do {
+                long after = lastId;
+                tasks = readOnly(() -> taskRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(BATCH_SIZE)));
+                for (Task task : tasks) {
+                    Long ownerId = projectOwners.get(task.getProject().getId());
+                    if (ownerId != null) {
+                        index.addTask(ownerId, taskService.mapToResponse(task));
+                    }
+                    lastId = task.getId();
+                }
+                counts[1] += tasks.size();
+            } while (tasks.size() == BATCH_SIZE);
+        });
+        log.info("Rebuilt search index with {} project(s) and {} task(s) in {} ms",
+                counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private <T> List<T> readOnly(Supplier<List<T>> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> query.get());
+    }
+}
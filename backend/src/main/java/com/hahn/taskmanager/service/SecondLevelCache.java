@@ -0,0 +1,149 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.config.SecondLevelCacheConfig;
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.TaskChangedEvent;
+import com.hahn.taskmanager.event.UserDeletedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.CacheManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Invalidates second-level cache entries that Hibernate cannot invalidate by itself: projects
+ * whose counters are changed by native statements, and anything changed on another node,
+ * which only this node's caches still hold.
+ */
+@Component
+public class SecondLevelCache implements MeterBinder {
+
+    private final Cache cache;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final EntityPersister projectPersister;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager,
+                            EntityManager entityManager) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        this.cacheManager = hibernateCacheManager;
+        this.entityManager = entityManager;
+        this.projectPersister = sessionFactory.getMappingMetamodel().getEntityDescriptor(Project.class);
+    }
+
+    /**
+     * Keeps the project out of the cache until the surrounding transaction completes, for
+     * native statements that change its counters or revision. Unlike an eviction after commit, this also
+     * rejects the old row when a concurrent transaction loaded it before the commit.
+     */
+    public void lockProject(Long projectId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityDataAccess access = projectPersister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(projectId, projectPersister, session.getFactory(),
+                session.getTenantIdentifier());
+        SoftLock lock = access.lockItem(session, key, null);
+        session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, s) -> access.unlockItem(s, key, lock));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Local changes lock the project while its counters change; other nodes cannot
+        if (event.isRemote()) {
+            cache.evictEntityData(Project.class, event.getProjectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        cache.evictEntityData(Project.class, event.getProjectId());
+        if (event.isRemote() && event.getType() != ChangeType.UPDATED) {
+            // Cached ownership lookups may miss a new project or still find a deleted one
+            cache.evictQueryRegions();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        // The user's projects were hidden by a native statement
+        cache.evictEntityData(User.class, event.getUserId());
+        cache.evictEntityData(Project.class);
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Drops all cached projects once the surrounding transaction commits, for counter
+     * repairs that span many projects.
+     */
+    public void evictProjectsAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evictEntityData(Project.class);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evictEntityData(Project.class);
+            }
+        });
+    }
+
+    public void evictAll() {
+        cache.evictAllRegions();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (String region : SecondLevelCacheConfig.MONITORED_REGIONS) {
+            javax.cache.Cache<Object, Object> regionCache = cacheManager.getCache(region);
+            JCacheMetrics.monitor(registry, regionCache);
+            ObjectName statistics = statisticsName(region);
+            Gauge.builder("hibernate.cache.hit.ratio", mBeanServer, server -> hitRatio(server, statistics))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups served from memory")
+                    .register(registry);
+        }
+    }
+
+    private ObjectName statisticsName(String region) {
+        try {
+            // Registered by Caffeine once statistics are enabled for the region
+            return new ObjectName("javax.cache:type=CacheStatistics,CacheManager=" + cacheManager.getURI()
+                    + ",Cache=" + region);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double hitRatio(MBeanServer server, ObjectName statistics) {
+        try {
+            return ((Number) server.getAttribute(statistics, "CacheHitPercentage")).doubleValue() / 100;
+        } catch (JMException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repairs drift between the denormalized task counters on {@code projects} and the
+ * actual rows in {@code tasks}. Runs once at startup, which also backfills counters
+ * for projects created before the columns existed, and then periodically. Only projects
+ * that look drifted are locked and recounted, so writers elsewhere are not held up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCounterReconciler {
+
+    private final ProjectRepository projectRepository;
+    private final ListingCache listingCache;
+    private final SecondLevelCache secondLevelCache;
+
+    @Scheduled(fixedDelayString = "${app.tasks.counter-reconciliation-interval}")
+    @Transactional
+    public void reconcile() {
+        List<Long> drifted = projectRepository.findIdsWithDriftedCounters();
+        if (drifted.isEmpty()) {
+            return;
+        }
+        // Recounting in the statement that takes the row locks would keep its earlier
+        // snapshot and overwrite changes committed while it waited
+        List<Long> locked = projectRepository.lockForUpdate(drifted);
+        int repaired = locked.isEmpty() ? 0 : projectRepository.reconcileTaskCounters(locked);
+        if (repaired > 0) {
+            log.warn("Repaired task counters on {} project(s)", repaired);
+            listingCache.invalidateProjectsAfterCommit();
+            secondLevelCache.evictProjectsAfterCommit();
+        }
+    }
+}
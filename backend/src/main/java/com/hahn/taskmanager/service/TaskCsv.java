@@ -0,0 +1,112 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.dto.TaskResponse;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * RFC 4180 CSV rows for tasks: fields containing a comma, quote or line break are quoted
+ * and embedded quotes doubled. Records are read one at a time, so a file of any size is
+ * parsed in constant memory.
+ */
+final class TaskCsv {
+
+    static final String[] EXPORT_COLUMNS = {
+            "id", "title", "description", "dueDate", "completed", "createdAt", "updatedAt", "completedAt"
+    };
+
+    static final int MAX_FIELD_LENGTH = 16 * 1024;
+
+    private TaskCsv() {
+    }
+
+    /**
+     * Reads the next record, or returns {@code null} at the end of the input. Accepts
+     * both CRLF and LF line endings.
+     */
+    static List<String> readRecord(PushbackReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedCsvException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = reader.read();
+                    if (next != '\n' && next != -1) {
+                        reader.unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new MalformedCsvException("Field exceeds " + MAX_FIELD_LENGTH + " characters");
+            }
+            c = reader.read();
+        }
+    }
+
+    static void writeHeader(Writer writer) throws IOException {
+        writeRow(writer, (Object[]) EXPORT_COLUMNS);
+    }
+
+    static void writeTask(Writer writer, TaskResponse task) throws IOException {
+        writeRow(writer, task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.isCompleted(), task.getCreatedAt(), task.getUpdatedAt(), task.getCompletedAt());
+    }
+
+    private static void writeRow(Writer writer, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(writer, Objects.toString(fields[i], ""));
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    static final class MalformedCsvException extends IOException {
+
+        MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.dto.TaskChangeResponse;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.TaskChangedEvent;
+import com.hahn.taskmanager.exception.ResourceNotFoundException;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Pushes committed task changes to Server-Sent Events subscribers of a project.
+ *
+ * <p>The event id of a change is the project revision it produced, which every node reads
+ * from the database, and each project keeps its most recent changes so that a client
+ * reconnecting with {@code Last-Event-ID}, to this node or another, receives only what it
+ * missed. When the missed changes are no longer retained the client is sent a {@code reset}
+ * event and should reload the task list. Changes from other nodes can arrive out of revision
+ * order, so a client may occasionally receive a change it already has.
+ *
+ * <p>Each connection has a bounded queue drained on its own thread, so a slow client never
+ * delays the committing thread. A client whose queue overflows is disconnected and can
+ * resume from its last received id.
+ */
+@Component
+@Slf4j
+public class TaskEventBroadcaster implements MeterBinder {
+
+    static final String SUBSCRIBED = "subscribed";
+    static final String RESET = "reset";
+    static final String PROJECT_DELETED = "project-deleted";
+
+    // Retained-after value of a stream whose history was dropped before any newer change arrived
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final ProjectRepository projectRepository;
+    private final int bufferSize;
+    private final int historySize;
+    private final Duration connectionTimeout;
+    private final Duration historyRetention;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<Long, ProjectStream> streams = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newCachedThreadPool(new CustomizableThreadFactory("task-events-"));
+
+    public TaskEventBroadcaster(
+            ProjectRepository projectRepository,
+            @Value("${app.events.buffer-size}") int bufferSize,
+            @Value("${app.events.history-size}") int historySize,
+            @Value("${app.events.connection-timeout}") Duration connectionTimeout,
+            @Value("${app.events.history-retention}") Duration historyRetention
+    ) {
+        this.projectRepository = projectRepository;
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.connectionTimeout = connectionTimeout;
+        this.historyRetention = historyRetention;
+    }
+
+    public SseEmitter subscribe(Long projectId, User owner, String lastEventId) {
+        long revision = projectRepository.findRevision(projectId, owner)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        SseEmitter emitter = new SseEmitter(connectionTimeout.toMillis());
+        Subscriber subscriber = withStream(projectId, revision, stream -> {
+            if (stream.retainedAfter == UNKNOWN) {
+                stream.retainedAfter = revision;
+            }
+            stream.latest = Math.max(stream.latest, revision);
+            List<Message> backlog = backlog(stream, lastEventId);
+            Subscriber added = new Subscriber(projectId, emitter, bufferSize + backlog.size());
+            backlog.forEach(added::offer);
+            stream.subscribers.add(added);
+            return added;
+        });
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskChangeResponse change = TaskChangeResponse.builder()
+                .type(event.getType())
+                .projectId(event.getProjectId())
+                .taskId(event.getTaskId())
+                .task(event.getTask())
+                .build();
+        long revision = event.getRevision();
+        withStream(event.getProjectId(), revision - 1, stream -> {
+            Message message = new Message(revision, event.getType().name().toLowerCase(), change);
+            if (stream.retainedAfter == UNKNOWN) {
+                stream.retainedAfter = revision - 1;
+            }
+            stream.latest = Math.max(stream.latest, revision);
+            stream.history.put(revision, message);
+            while (stream.history.size() > historySize) {
+                stream.retainedAfter = Math.max(stream.retainedAfter, stream.history.pollFirstEntry().getKey());
+            }
+            stream.lastActivity = System.nanoTime();
+            stream.subscribers.forEach(subscriber -> subscriber.offer(message));
+            return message;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getType() != ChangeType.DELETED) {
+            return;
+        }
+        ProjectStream stream = streams.remove(event.getProjectId());
+        if (stream == null) {
+            return;
+        }
+        synchronized (stream) {
+            stream.removed = true;
+            Message message = new Message(stream.latest, PROJECT_DELETED, event.getProjectId());
+            stream.subscribers.forEach(subscriber -> {
+                subscriber.offer(message);
+                subscriber.close();
+            });
+        }
+    }
+
+    /**
+     * Tells every subscriber to reload, for when changes may have been missed, and makes
+     * earlier event ids unresumable.
+     */
+    public void resetAll() {
+        streams.values().forEach(stream -> {
+            synchronized (stream) {
+                stream.history.clear();
+                stream.retainedAfter = UNKNOWN;
+                // Without an id, so the client resumes from what it last received
+                Message message = new Message(null, RESET, null);
+                stream.subscribers.forEach(subscriber -> subscriber.offer(message));
+            }
+        });
+    }
+
+    /**
+     * Sends a comment to idle connections so intermediaries keep them open and dead ones
+     * are noticed, and forgets the history of projects nobody has listened to for a while.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+        long idleSince = System.nanoTime() - historyRetention.toNanos();
+        streams.entrySet().removeIf(entry -> {
+            ProjectStream stream = entry.getValue();
+            synchronized (stream) {
+                stream.removed = stream.subscribers.isEmpty() && stream.lastActivity - idleSince < 0;
+                return stream.removed;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("task.events.connections", subscribers, Set::size)
+                .description("Open task event stream connections")
+                .register(registry);
+        FunctionCounter.builder("task.events.dropped", dropped, AtomicLong::get)
+                .description("Task event stream connections closed because the client fell behind")
+                .register(registry);
+    }
+
+    /** Runs {@code action} on the project's stream, starting one complete after {@code revision} if needed. */
+    private <T> T withStream(Long projectId, long revision, Function<ProjectStream, T> action) {
+        while (true) {
+            ProjectStream stream = streams.computeIfAbsent(projectId, id -> new ProjectStream(revision));
+            synchronized (stream) {
+                // A stream removed between lookup and locking must not receive changes
+                if (!stream.removed) {
+                    return action.apply(stream);
+                }
+            }
+        }
+    }
+
+    private List<Message> backlog(ProjectStream stream, String lastEventId) {
+        Long after = parseRevision(lastEventId);
+        if (after == null) {
+            return List.of(new Message(stream.latest, lastEventId == null ? SUBSCRIBED : RESET, null));
+        }
+        if (after < stream.retainedAfter) {
+            return List.of(new Message(stream.latest, RESET, null));
+        }
+        return new ArrayList<>(stream.history.tailMap(after, false).values());
+    }
+
+    private static Long parseRevision(String eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        ProjectStream stream = streams.get(subscriber.projectId);
+        if (stream != null) {
+            synchronized (stream) {
+                stream.subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private record Message(Long revision, String name, Object data) {
+    }
+
+    private static final class ProjectStream {
+
+        private final NavigableMap<Long, Message> history = new TreeMap<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        // Changes with a revision at or below this may be missing from history
+        private long retainedAfter;
+        private long latest;
+        private long lastActivity = System.nanoTime();
+        private boolean removed;
+
+        ProjectStream(long revision) {
+            this.retainedAfter = revision;
+            this.latest = revision;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closing;
+        private volatile boolean closed;
+        private volatile boolean heartbeatDue;
+
+        Subscriber(Long projectId, SseEmitter emitter, int capacity) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Message message) {
+            if (closing) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                dropped.incrementAndGet();
+                log.debug("Disconnecting a slow task event subscriber of project {}", projectId);
+                queue.clear();
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            if (queue.isEmpty()) {
+                heartbeatDue = true;
+                schedule();
+            }
+        }
+
+        void close() {
+            closing = true;
+            schedule();
+        }
+
+        void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    SseEmitter.SseEventBuilder event = SseEmitter.event().name(message.name);
+                    if (message.revision != null) {
+                        event.id(message.revision.toString());
+                    }
+                    if (message.data != null) {
+                        event.data(message.data, MediaType.APPLICATION_JSON);
+                    }
+                    emitter.send(event);
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                if (closing) {
+                    closed = true;
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                // The client went away; the emitter's completion callback unsubscribes it
+                closing = true;
+                closed = true;
+                queue.clear();
+                emitter.completeWithError(e);
+            } finally {
+                sending.set(false);
+            }
+            if (!closed && (closing || !queue.isEmpty() || heartbeatDue)) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.hahn.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.taskmanager.dto.BulkItemResult;
+import com.hahn.taskmanager.dto.BulkItemStatus;
+import com.hahn.taskmanager.dto.TaskFileFormat;
+import com.hahn.taskmanager.dto.TaskImportResponse;
+import com.hahn.taskmanager.dto.TaskRequest;
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.Task;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.exception.BadRequestException;
+import com.hahn.taskmanager.exception.ResourceNotFoundException;
+import com.hahn.taskmanager.repository.OwnerRevisionRepository;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports tasks from an NDJSON or CSV upload while it is being received. Valid rows are
+ * inserted in batches, each in its own transaction, so neither the file nor more than
+ * one batch of entities is ever held in memory. Batches committed before a failure stay
+ * committed.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final OwnerRevisionRepository ownerRevisionRepository;
+    private final SecondLevelCache secondLevelCache;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TaskImportService(
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            OwnerRevisionRepository ownerRevisionRepository,
+            SecondLevelCache secondLevelCache,
+            TaskService taskService,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.tasks.import.batch-size}") int batchSize
+    ) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.ownerRevisionRepository = ownerRevisionRepository;
+        this.secondLevelCache = secondLevelCache;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public TaskImportResponse importTasks(Long projectId, User owner, TaskFileFormat format, InputStream in)
+            throws IOException {
+        if (!projectRepository.existsByIdAndOwner(projectId, owner)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        PushbackReader reader = new PushbackReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), 1);
+        skipByteOrderMark(reader);
+
+        Import run = new Import(projectId, owner);
+        if (format == TaskFileFormat.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        run.flush();
+        log.info("Imported {} task(s) into project {}, rejected {}", run.imported, projectId, run.failed);
+        return TaskImportResponse.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .aborted(run.aborted)
+                .errors(run.errors)
+                .build();
+    }
+
+    private void readNdjson(PushbackReader reader, Import run) throws IOException {
+        int row = 0;
+        StringBuilder line = new StringBuilder();
+        while (readLine(reader, line)) {
+            row++;
+            if (line.length() > MAX_LINE_LENGTH) {
+                run.reject(row, "Line exceeds " + MAX_LINE_LENGTH + " characters");
+                continue;
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(row, objectMapper.readValue(line.toString(), TaskRequest.class));
+            } catch (JsonProcessingException e) {
+                run.reject(row, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(PushbackReader reader, Import run) throws IOException {
+        List<String> header = TaskCsv.readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Integer title = columns.get("title");
+        if (title == null) {
+            throw new BadRequestException("CSV header must contain a title column");
+        }
+        Integer description = columns.get("description");
+        Integer dueDate = columns.get("duedate");
+
+        int row = 0;
+        while (true) {
+            List<String> record;
+            try {
+                record = TaskCsv.readRecord(reader);
+            } catch (TaskCsv.MalformedCsvException e) {
+                run.abort(row + 1, e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            row++;
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (record.size() != header.size()) {
+                run.reject(row, "Expected " + header.size() + " fields but found " + record.size());
+                continue;
+            }
+            try {
+                run.accept(row, TaskRequest.builder()
+                        .title(record.get(title))
+                        .description(emptyToNull(description == null ? null : record.get(description)))
+                        .dueDate(parseDate(dueDate == null ? null : record.get(dueDate)))
+                        .build());
+            } catch (DateTimeParseException e) {
+                run.reject(row, "dueDate: must be an ISO date (yyyy-MM-dd)");
+            }
+        }
+    }
+
+    private static boolean readLine(PushbackReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() <= MAX_LINE_LENGTH) {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        return true;
+    }
+
+    private static void skipByteOrderMark(PushbackReader reader) throws IOException {
+        int c = reader.read();
+        if (c != -1 && c != '\uFEFF') {
+            reader.unread(c);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null || value.isBlank() ? null : LocalDate.parse(value.trim());
+    }
+
+    private final class Import {
+
+        private final Long projectId;
+        private final User owner;
+        private final List<TaskRequest> batch = new ArrayList<>();
+        private final List<BulkItemResult> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+        private boolean aborted;
+
+        Import(Long projectId, User owner) {
+            this.projectId = projectId;
+            this.owner = owner;
+        }
+
+        void accept(int row, TaskRequest request) {
+            String violations = taskService.validate(request);
+            if (violations != null) {
+                reject(row, violations);
+                return;
+            }
+            batch.add(request);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String message) {
+            failed++;
+            if (errors.size() < TaskImportResponse.MAX_REPORTED_ERRORS) {
+                errors.add(BulkItemResult.builder()
+                        .index(row)
+                        .status(BulkItemStatus.INVALID)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        void abort(int row, String message) {
+            reject(row, message + "; import stopped");
+            aborted = true;
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            imported += batch.size();
+            log.debug("Imported {} task(s) into project {} so far", imported, projectId);
+            batch.clear();
+        }
+
+        private void insert(List<TaskRequest> requests) {
+            secondLevelCache.lockProject(projectId);
+            long revision = projectRepository.adjustTaskCountersIfOwned(projectId, owner.getId(),
+                            requests.size(), 0, requests.size())
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+            Project project = projectRepository.getReferenceById(projectId);
+            List<Task> tasks = new ArrayList<>(requests.size());
+            for (TaskRequest request : requests) {
+                tasks.add(Task.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .dueDate(request.getDueDate())
+                        .completed(false)
+                        .project(project)
+                        .build());
+            }
+            taskRepository.saveAll(tasks);
+            ownerRevisionRepository.bump(owner.getId());
+            entityManager.flush();
+            taskService.publish(ChangeType.CREATED, owner, tasks.stream().map(taskService::mapToResponse).toList(),
+                    revision);
+            entityManager.clear();
+        }
+    }
+}
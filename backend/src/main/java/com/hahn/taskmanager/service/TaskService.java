@@ -1,53 +1,111 @@
 package com.hahn.taskmanager.service;
 
+import com.hahn.taskmanager.config.MetricsConfig;
+import com.hahn.taskmanager.dto.BulkItemResult;
+import com.hahn.taskmanager.dto.BulkItemStatus;
+import com.hahn.taskmanager.dto.BulkTaskResponse;
+import com.hahn.taskmanager.dto.CursorPage;
+import com.hahn.taskmanager.dto.KeysetCursor;
+import com.hahn.taskmanager.dto.TaskFileFormat;
 import com.hahn.taskmanager.dto.TaskRequest;
+import com.hahn.taskmanager.dto.Revisioned;
 import com.hahn.taskmanager.dto.TaskResponse;
 import com.hahn.taskmanager.entity.Project;
 import com.hahn.taskmanager.entity.Task;
 import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.TaskChangedEvent;
 import com.hahn.taskmanager.exception.ResourceNotFoundException;
+import com.hahn.taskmanager.repository.OwnerRevisionRepository;
+import com.hahn.taskmanager.repository.ProjectRepository;
 import com.hahn.taskmanager.repository.TaskRepository;
+import com.hahn.taskmanager.search.InMemorySearchIndex;
+import com.hahn.taskmanager.search.SearchTerms;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_CALLS)
 @RequiredArgsConstructor
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectService projectService;
+    private final ProjectRepository projectRepository;
+    private final OwnerRevisionRepository ownerRevisionRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<InMemorySearchIndex> searchIndex;
+    private final ListingCache listingCache;
+    private final SecondLevelCache secondLevelCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public TaskResponse createTask(Long projectId, TaskRequest request, User owner) {
-        Project project = projectService.getProjectEntityById(projectId, owner);
+        secondLevelCache.lockProject(projectId);
+        long revision = projectRepository.adjustTaskCountersIfOwned(projectId, owner.getId(), 1, 0, 1)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
 
         Task task = Task.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .dueDate(request.getDueDate())
                 .completed(false)
-                .project(project)
+                .project(projectRepository.getReferenceById(projectId))
                 .build();
 
         Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
+        ownerRevisionRepository.bump(owner.getId());
+        TaskResponse response = mapToResponse(savedTask);
+        publish(ChangeType.CREATED, owner, List.of(response), revision);
+        return response;
     }
 
-    @Transactional(readOnly = true)
-    public List<TaskResponse> getAllTasks(Long projectId, User owner) {
-        Project project = projectService.getProjectEntityById(projectId, owner);
-        return taskRepository.findByProjectOrderByCreatedAtDesc(project)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /** The tasks at project {@code revision} or later, for a revision just read from the project. */
+    public Revisioned<List<TaskResponse>> getAllTasks(Long projectId, User owner, long revision) {
+        return listingCache.getTasks(owner.getId(), projectId, revision, () -> {
+            long loadedRevision = projectService.getProjectRevision(projectId, owner);
+            Project project = projectService.getProjectEntityById(projectId, owner);
+            List<TaskResponse> tasks = taskRepository.findByProjectOrderByCreatedAtDesc(project)
+                    .stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+            return new Revisioned<>(loadedRevision, tasks);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -59,61 +117,206 @@ public class TaskService {
     }
 
     @Transactional(readOnly = true)
-    public TaskResponse getTaskById(Long projectId, Long taskId, User owner) {
+    public CursorPage<TaskResponse> getTasksAfter(Long projectId, User owner, String after, int limit) {
+        CursorPage.validateLimit(limit);
         Project project = projectService.getProjectEntityById(projectId, owner);
-        Task task = taskRepository.findByIdAndProject(taskId, project)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Task> tasks = cursor == null
+                ? taskRepository.findByProjectOrderByCreatedAtDescIdDesc(project, fetchLimit)
+                : taskRepository.findPageAfter(project, cursor.getCreatedAt(), cursor.getId(), fetchLimit);
+        List<TaskResponse> rows = tasks.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return CursorPage.of(rows, limit, task -> new KeysetCursor(task.getCreatedAt(), task.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long projectId, Long taskId, User owner) {
+        Task task = taskRepository.findByIdAndProjectIdAndProjectOwnerId(taskId, projectId, owner.getId())
+                .orElseThrow(() -> taskNotFound(projectId, taskId, owner));
         return mapToResponse(task);
     }
 
     @Transactional
     public TaskResponse updateTask(Long projectId, Long taskId, TaskRequest request, User owner) {
-        Project project = projectService.getProjectEntityById(projectId, owner);
-        Task task = taskRepository.findByIdAndProject(taskId, project)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        Task task = taskRepository.findByIdAndProjectIdAndProjectOwnerId(taskId, projectId, owner.getId())
+                .orElseThrow(() -> taskNotFound(projectId, taskId, owner));
 
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setDueDate(request.getDueDate());
 
         Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
+        secondLevelCache.lockProject(projectId);
+        long revision = projectRepository.bumpRevision(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        TaskResponse response = mapToResponse(updatedTask);
+        publish(ChangeType.UPDATED, owner, List.of(response), revision);
+        return response;
     }
 
     @Transactional
     public TaskResponse toggleTaskCompletion(Long projectId, Long taskId, User owner) {
+        secondLevelCache.lockProject(projectId);
+        Task task = taskRepository.toggleCompletion(taskId, projectId, owner.getId(), LocalDateTime.now())
+                .orElseThrow(() -> taskNotFound(projectId, taskId, owner));
+        ownerRevisionRepository.bump(owner.getId());
+        TaskResponse response = mapToResponse(task);
+        publish(ChangeType.TOGGLED, owner, List.of(response), changedRevision(projectId, owner));
+        return response;
+    }
+
+    @Transactional
+    public void deleteTask(Long projectId, Long taskId, User owner) {
+        secondLevelCache.lockProject(projectId);
+        Task task = taskRepository.deleteReturning(taskId, projectId, owner.getId())
+                .orElseThrow(() -> taskNotFound(projectId, taskId, owner));
+        ownerRevisionRepository.bump(owner.getId());
+        publish(ChangeType.DELETED, owner, List.of(mapToResponse(task)), changedRevision(projectId, owner));
+    }
+
+    @Transactional
+    public BulkTaskResponse createTasks(Long projectId, List<TaskRequest> requests, User owner) {
         Project project = projectService.getProjectEntityById(projectId, owner);
-        Task task = taskRepository.findByIdAndProject(taskId, project)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> taskIndexes = new ArrayList<>();
 
-        task.setCompleted(!task.isCompleted());
-        if (task.isCompleted()) {
-            task.setCompletedAt(LocalDateTime.now());
-        } else {
-            task.setCompletedAt(null);
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            String violations = validate(request);
+            if (violations != null) {
+                results[i] = BulkItemResult.builder()
+                        .index(i)
+                        .status(BulkItemStatus.INVALID)
+                        .message(violations)
+                        .build();
+                continue;
+            }
+            tasks.add(Task.builder()
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .dueDate(request.getDueDate())
+                    .completed(false)
+                    .project(project)
+                    .build());
+            taskIndexes.add(i);
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
+        if (!tasks.isEmpty()) {
+            taskRepository.saveAll(tasks);
+            secondLevelCache.lockProject(project.getId());
+            long revision = projectRepository.adjustTaskCounters(project.getId(), tasks.size(), 0, tasks.size())
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+            ownerRevisionRepository.bump(owner.getId());
+            publish(ChangeType.CREATED, owner, tasks.stream().map(this::mapToResponse).toList(), revision);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            int index = taskIndexes.get(i);
+            results[index] = BulkItemResult.builder()
+                    .index(index)
+                    .taskId(tasks.get(i).getId())
+                    .status(BulkItemStatus.CREATED)
+                    .build();
+        }
+        return BulkTaskResponse.of(Arrays.asList(results));
     }
 
     @Transactional
-    public void deleteTask(Long projectId, Long taskId, User owner) {
+    public BulkTaskResponse setTasksCompletion(Long projectId, List<Long> taskIds, boolean completed, User owner) {
         Project project = projectService.getProjectEntityById(projectId, owner);
-        Task task = taskRepository.findByIdAndProject(taskId, project)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-        taskRepository.delete(task);
+        Map<Long, Task> tasks = findTasks(project, taskIds);
+
+        List<BulkItemResult> results = new ArrayList<>(taskIds.size());
+        List<TaskResponse> changed = new ArrayList<>();
+        int index = 0;
+        for (Long taskId : taskIds) {
+            Task task = tasks.get(taskId);
+            BulkItemStatus status;
+            if (task == null) {
+                status = BulkItemStatus.NOT_FOUND;
+            } else if (task.isCompleted() == completed) {
+                status = BulkItemStatus.UNCHANGED;
+            } else {
+                task.setCompleted(completed);
+                task.setCompletedAt(completed ? LocalDateTime.now() : null);
+                changed.add(mapToResponse(task));
+                status = BulkItemStatus.UPDATED;
+            }
+            results.add(itemResult(index++, taskId, status));
+        }
+
+        if (!changed.isEmpty()) {
+            int count = changed.size();
+            secondLevelCache.lockProject(project.getId());
+            long revision = projectRepository.adjustTaskCounters(project.getId(), 0, completed ? count : -count, count)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+            ownerRevisionRepository.bump(owner.getId());
+            publish(ChangeType.TOGGLED, owner, changed, revision);
+        }
+        return BulkTaskResponse.of(results);
+    }
+
+    @Transactional
+    public BulkTaskResponse deleteTasks(Long projectId, List<Long> taskIds, User owner) {
+        Project project = projectService.getProjectEntityById(projectId, owner);
+        Map<Long, Task> tasks = findTasks(project, taskIds);
+
+        List<BulkItemResult> results = new ArrayList<>(taskIds.size());
+        int index = 0;
+        for (Long taskId : taskIds) {
+            BulkItemStatus status = tasks.containsKey(taskId) ? BulkItemStatus.DELETED : BulkItemStatus.NOT_FOUND;
+            results.add(itemResult(index++, taskId, status));
+        }
+
+        if (!tasks.isEmpty()) {
+            int completed = (int) tasks.values().stream().filter(Task::isCompleted).count();
+            taskRepository.deleteAllByIdInBatch(tasks.keySet());
+            secondLevelCache.lockProject(project.getId());
+            long revision = projectRepository.adjustTaskCounters(project.getId(), -tasks.size(), -completed, tasks.size())
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+            ownerRevisionRepository.bump(owner.getId());
+            publish(ChangeType.DELETED, owner, tasks.values().stream().map(this::mapToResponse).toList(), revision);
+        }
+        return BulkTaskResponse.of(results);
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> searchTasks(Long projectId, User owner, String search) {
+    public List<TaskResponse> searchTasks(Long projectId, User owner, String search, int page, int size) {
+        SearchTerms.validatePage(page, size);
+        InMemorySearchIndex index = searchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return index.searchTasks(owner.getId(), projectId, search, page, size);
+        }
         Project project = projectService.getProjectEntityById(projectId, owner);
-        return taskRepository.searchByTitle(project, search)
+        String query = SearchTerms.toPrefixTsQuery(search);
+        if (query == null) {
+            return List.of();
+        }
+        return taskRepository.searchByText(project.getId(), query, PageRequest.of(page, size))
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Writes every task of the project to {@code out}, newest first, holding only one
+     * task in memory at a time. The caller checks project access before the response
+     * is committed; tasks of projects the owner cannot access are simply not written.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Long projectId, User owner, TaskFileFormat format, OutputStream out) throws IOException {
+        try (Stream<Task> tasks = taskRepository.streamByProject(projectId, owner)) {
+            Iterator<TaskResponse> responses = tasks.map(this::detachToResponse).iterator();
+            if (format == TaskFileFormat.CSV) {
+                writeCsv(responses, out);
+            } else {
+                writeNdjson(responses, out);
+            }
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByStatus(Long projectId, User owner, boolean completed) {
         Project project = projectService.getProjectEntityById(projectId, owner);
@@ -123,7 +326,89 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    private TaskResponse detachToResponse(Task task) {
+        TaskResponse response = mapToResponse(task);
+        entityManager.detach(task);
+        return response;
+    }
+
+    private void writeNdjson(Iterator<TaskResponse> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (tasks.hasNext()) {
+                writer.writeValue(generator, tasks.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TaskResponse> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TaskCsv.writeHeader(writer);
+        while (tasks.hasNext()) {
+            TaskCsv.writeTask(writer, tasks.next());
+        }
+        writer.flush();
+    }
+
+    private ResourceNotFoundException taskNotFound(Long projectId, Long taskId, User owner) {
+        if (!projectRepository.existsByIdAndOwner(projectId, owner)) {
+            return new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return new ResourceNotFoundException("Task not found with id: " + taskId);
+    }
+
+    private Map<Long, Task> findTasks(Project project, List<Long> taskIds) {
+        return taskRepository.findByProjectAndIdInOrderByIdAsc(project, new LinkedHashSet<>(taskIds))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    String validate(TaskRequest request) {
+        if (request == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Publishes changes to one project that together advanced its revision to {@code revision},
+     * giving each change one of the revisions in order.
+     */
+    void publish(ChangeType type, User owner, List<TaskResponse> tasks, long revision) {
+        long first = revision - tasks.size() + 1;
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResponse task = tasks.get(i);
+            eventPublisher.publishEvent(new TaskChangedEvent(type, owner.getId(), task.getProjectId(), task.getId(),
+                    task, first + i));
+        }
+    }
+
+    // The project row stays locked by the change, so this is the revision it produced
+    private long changedRevision(Long projectId, User owner) {
+        return projectRepository.findRevision(projectId, owner)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+    }
+
+    private BulkItemResult itemResult(int index, Long taskId, BulkItemStatus status) {
+        return BulkItemResult.builder()
+                .index(index)
+                .taskId(taskId)
+                .status(status)
+                .build();
+    }
+
+    TaskResponse mapToResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -0,0 +1,40 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.event.ChangeType;
+import com.hahn.taskmanager.event.ProjectChangedEvent;
+import com.hahn.taskmanager.event.UserDeletedEvent;
+import com.hahn.taskmanager.exception.ResourceNotFoundException;
+import com.hahn.taskmanager.repository.ProjectRepository;
+import com.hahn.taskmanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Hides the user and all of their projects at once. Existing tokens stop working once
+     * the deletion commits; the rows are removed in the background by {@link DeletionPurger}.
+     */
+    @Transactional
+    public void deleteUser(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userRepository.markDeleted(user.getId(), now) == 0) {
+            throw new ResourceNotFoundException("User not found with id: " + user.getId());
+        }
+        for (Long projectId : projectRepository.markDeletedByOwner(user.getId(), now)) {
+            eventPublisher.publishEvent(new ProjectChangedEvent(ChangeType.DELETED, user.getId(), projectId, null));
+        }
+        eventPublisher.publishEvent(new UserDeletedEvent(user.getId(), user.getEmail()));
+    }
+}
@@ -0,0 +1,50 @@
+-- Schema as previously created by Hibernate (ddl-auto: update) plus the SQL init scripts.
+-- Databases created that way are baselined at this version and skip this script.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE projects (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    title           VARCHAR(255) NOT NULL,
+    description     TEXT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6),
+    total_tasks     INTEGER      NOT NULL DEFAULT 0,
+    completed_tasks INTEGER      NOT NULL DEFAULT 0,
+    owner_id        BIGINT       NOT NULL REFERENCES users (id),
+    search_vector   TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED
+);
+
+CREATE INDEX idx_projects_owner_created_at_id ON projects (owner_id, created_at DESC, id DESC);
+CREATE INDEX idx_projects_search_vector ON projects USING GIN (search_vector);
+
+CREATE TABLE tasks (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    title         VARCHAR(255) NOT NULL,
+    description   TEXT,
+    due_date      DATE,
+    completed     BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    completed_at  TIMESTAMP(6),
+    project_id    BIGINT       NOT NULL REFERENCES projects (id),
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED
+);
+
+CREATE INDEX idx_tasks_project_created_at_id ON tasks (project_id, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
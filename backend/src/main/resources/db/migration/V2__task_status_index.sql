@@ -0,0 +1,4 @@
+-- findByProjectAndCompleted and countByProjectAndCompleted filter on both columns. The
+-- (project_id, created_at, id) index from V1 already serves every other lookup by
+-- project, including the foreign key, and (owner_id, created_at, id) every lookup by owner.
+CREATE INDEX idx_tasks_project_completed ON tasks (project_id, completed);
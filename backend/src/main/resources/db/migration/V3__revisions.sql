@@ -0,0 +1,8 @@
+-- Bumped with every change to a project or its tasks; drives the task and project ETags
+ALTER TABLE projects ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+
+-- Bumped with every change to an owner's project listing; drives the listing ETags
+CREATE TABLE owner_revisions (
+    owner_id BIGINT NOT NULL PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    revision BIGINT NOT NULL
+);
@@ -0,0 +1,21 @@
+-- Deleted projects and users are hidden at once and removed later by the purger
+ALTER TABLE projects ADD COLUMN deleted_at TIMESTAMP(6);
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP(6);
+
+CREATE INDEX idx_projects_deleted_at ON projects (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX idx_users_deleted_at ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- A deleted user's email can be registered again before the row is purged. The
+-- constraint name differs between Flyway- and Hibernate-created schemas.
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT conname FROM pg_constraint WHERE conrelid = 'users'::regclass AND contype = 'u'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX uk_users_email ON users (email) WHERE deleted_at IS NULL;
@@ -0,0 +1,56 @@
+-- Databases created by Hibernate (ddl-auto: update) before Flyway are baselined at V1 and
+-- never ran it. Bring them up to the V1 schema; on every other database this changes nothing.
+
+-- Ids used to come from bigserial columns; Hibernate now allocates them from pooled sequences
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS users_id_seq;
+ALTER TABLE projects ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE projects ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS projects_id_seq;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS tasks_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+-- Move each sequence past the highest existing id, but only when existing rows lie beyond
+-- every block it has allocated so far (pooled-lo reserves [value, value + 50) per nextval)
+SELECT setval('users_seq', (SELECT MAX(id) FROM users) + 1, false)
+WHERE (SELECT COALESCE(MAX(id), 0) FROM users)
+      >= (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM users_seq);
+
+SELECT setval('projects_seq', (SELECT MAX(id) FROM projects) + 1, false)
+WHERE (SELECT COALESCE(MAX(id), 0) FROM projects)
+      >= (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM projects_seq);
+
+SELECT setval('tasks_seq', (SELECT MAX(id) FROM tasks) + 1, false)
+WHERE (SELECT COALESCE(MAX(id), 0) FROM tasks)
+      >= (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM tasks_seq);
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS total_tasks INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS completed_tasks INTEGER NOT NULL DEFAULT 0;
+
+UPDATE projects p
+SET total_tasks = c.total, completed_tasks = c.completed
+FROM (SELECT project_id, COUNT(*) AS total, COUNT(*) FILTER (WHERE completed) AS completed
+      FROM tasks GROUP BY project_id) c
+WHERE p.id = c.project_id
+  AND (p.total_tasks <> c.total OR p.completed_tasks <> c.completed);
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_projects_owner_created_at_id ON projects (owner_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_created_at_id ON tasks (project_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
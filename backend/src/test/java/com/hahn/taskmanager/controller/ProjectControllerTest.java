@@ -0,0 +1,116 @@
+package com.hahn.taskmanager.controller;
+
+import com.hahn.taskmanager.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Caps the SQL statements each project endpoint runs, counting authentication, for a user
+ * with several projects so that a query repeated once per project fails the budget.
+ */
+class ProjectControllerTest extends IntegrationTest {
+
+    private static final int PROJECTS = 5;
+    // Page and size pairs that searches reject
+    private static final String[][] BAD_PAGES = {{"0", "0"}, {"0", "101"}, {"-1", "20"}};
+
+    private String token;
+    private long projectId;
+
+    @BeforeEach
+    void createProjects() throws Exception {
+        token = registerUser();
+        for (int i = 0; i < PROJECTS; i++) {
+            projectId = createProject(token, "Project " + i);
+            createTask(token, projectId, "Task " + i);
+        }
+    }
+
+    @Test
+    void createProject() throws Exception {
+        expectAtMost(2, token, post("/api/projects").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", "New"))), status().isCreated());
+    }
+
+    @Test
+    void getAllProjects() throws Exception {
+        expectAtMost(3, token, get("/api/projects"), status().isOk());
+    }
+
+    @Test
+    void getAllProjectsPaginated() throws Exception {
+        expectAtMost(2, token, get("/api/projects/paginated"), status().isOk());
+    }
+
+    @Test
+    void getProjectsAfter() throws Exception {
+        expectAtMost(2, token, get("/api/projects/cursor"), status().isOk());
+    }
+
+    @Test
+    void listingStatementsDoNotGrowWithProjects() throws Exception {
+        String owner = registerUser();
+        createTask(owner, createProject(owner, "Project"), "Task");
+        int[] before = countListingStatements(owner);
+
+        for (int i = 0; i < 10; i++) {
+            createTask(owner, createProject(owner, "Project " + i), "Task");
+        }
+        assertThat(countListingStatements(owner)).containsExactly(before);
+    }
+
+    @Test
+    void getProjectById() throws Exception {
+        expectAtMost(2, token, get("/api/projects/{id}", projectId), status().isOk());
+    }
+
+    // Events are sent later, from other threads
+    @Test
+    void streamTaskEvents() throws Exception {
+        expectAtMost(1, token, get("/api/projects/{id}/events", projectId), request().asyncStarted());
+    }
+
+    @Test
+    void updateProject() throws Exception {
+        expectAtMost(4, token, put("/api/projects/{id}", projectId).contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", "Renamed"))), status().isOk());
+    }
+
+    @Test
+    void deleteProject() throws Exception {
+        expectAtMost(2, token, delete("/api/projects/{id}", projectId), status().isNoContent());
+    }
+
+    @Test
+    void searchProjects() throws Exception {
+        expectAtMost(2, token, get("/api/projects/search").param("q", "project"), status().isOk());
+    }
+
+    @Test
+    void searchProjectsRejectsBadPages() throws Exception {
+        for (String[] page : BAD_PAGES) {
+            expectAtMost(2, token, get("/api/projects/search").param("q", "project")
+                    .param("page", page[0]).param("size", page[1]), status().isBadRequest());
+        }
+    }
+
+    // Pages hold every project, since a full page adds one count query however many there are
+    private int[] countListingStatements(String owner) throws Exception {
+        return new int[]{
+                countStatements(owner, get("/api/projects")),
+                countStatements(owner, get("/api/projects/paginated").param("size", "50")),
+                countStatements(owner, get("/api/projects/search").param("q", "project").param("size", "50")),
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.hahn.taskmanager.controller;
+
+import com.hahn.taskmanager.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Caps the SQL statements each task endpoint runs, counting authentication, on a project
+ * with several tasks so that a query repeated once per task fails the budget.
+ */
+class TaskControllerTest extends IntegrationTest {
+
+    private static final int TASKS = 5;
+    // Page and size pairs that searches reject
+    private static final String[][] BAD_PAGES = {{"0", "0"}, {"0", "101"}, {"-1", "20"}};
+
+    private String token;
+    private long projectId;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void createProjectWithTasks() throws Exception {
+        token = registerUser();
+        projectId = createProject(token, "Statements");
+        for (int i = 0; i < TASKS; i++) {
+            taskIds.add(createTask(token, projectId, "Task " + i));
+        }
+    }
+
+    @Test
+    void createTask() throws Exception {
+        expectAtMost(3, token, post(tasks()).contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", "New"))), status().isCreated());
+    }
+
+    @Test
+    void createTasks() throws Exception {
+        List<Map<String, String>> requests = List.of(Map.of("title", "A"), Map.of("title", "B"), Map.of("title", "C"));
+        expectAtMost(4, token, post(tasks() + "/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("tasks", requests))), status().isOk());
+    }
+
+    @Test
+    void setTasksCompletion() throws Exception {
+        expectAtMost(5, token, patch(tasks() + "/bulk/status").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("taskIds", taskIds, "completed", true))), status().isOk());
+    }
+
+    @Test
+    void deleteTasks() throws Exception {
+        expectAtMost(5, token, delete(tasks() + "/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("taskIds", taskIds))), status().isOk());
+    }
+
+    @Test
+    void importTasks() throws Exception {
+        expectAtMost(4, token, post(tasks() + "/import").contentType("application/x-ndjson")
+                .content("{\"title\":\"A\"}\n{\"title\":\"B\"}\n{\"title\":\"C\"}\n"), status().isOk());
+    }
+
+    @Test
+    void getAllTasks() throws Exception {
+        expectAtMost(4, token, get(tasks()), status().isOk());
+    }
+
+    @Test
+    void getAllTasksPaginated() throws Exception {
+        expectAtMost(3, token, get(tasks() + "/paginated"), status().isOk());
+    }
+
+    @Test
+    void getTasksAfter() throws Exception {
+        expectAtMost(3, token, get(tasks() + "/cursor"), status().isOk());
+    }
+
+    // The file itself is written on another thread, outside the recording
+    @Test
+    void exportTasks() throws Exception {
+        expectAtMost(1, token, get(tasks() + "/export"), request().asyncStarted());
+    }
+
+    @Test
+    void getTaskById() throws Exception {
+        expectAtMost(2, token, get(tasks() + "/{taskId}", taskIds.get(0)), status().isOk());
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        expectAtMost(3, token, put(tasks() + "/{taskId}", taskIds.get(0)).contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", "Renamed"))), status().isOk());
+    }
+
+    // These read back the revision their change produced, for the change feed
+    @Test
+    void toggleTaskCompletion() throws Exception {
+        expectAtMost(3, token, patch(tasks() + "/{taskId}/toggle", taskIds.get(0)), status().isOk());
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        expectAtMost(3, token, delete(tasks() + "/{taskId}", taskIds.get(0)), status().isNoContent());
+    }
+
+    @Test
+    void searchTasks() throws Exception {
+        expectAtMost(3, token, get(tasks() + "/search").param("q", "task"), status().isOk());
+    }
+
+    @Test
+    void searchTasksRejectsBadPages() throws Exception {
+        for (String[] page : BAD_PAGES) {
+            expectAtMost(2, token, get(tasks() + "/search").param("q", "task")
+                    .param("page", page[0]).param("size", page[1]), status().isBadRequest());
+        }
+    }
+
+    @Test
+    void getTasksByStatus() throws Exception {
+        expectAtMost(3, token, get(tasks() + "/filter").param("completed", "false"), status().isOk());
+    }
+
+    private String tasks() {
+        return "/api/projects/" + projectId + "/tasks";
+    }
+}
@@ -0,0 +1,214 @@
+package com.hahn.taskmanager.repository;
+
+import com.hahn.taskmanager.config.StatementCounter;
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.entity.User;
+import com.hahn.taskmanager.service.SecondLevelCache;
+import com.hahn.taskmanager.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query declared on the repositories and checks with EXPLAIN that none of them
+ * reads a whole table. Plans are the generic ones PostgreSQL uses for prepared statements,
+ * with sequential scans disabled, so a scan only shows up when no index can serve the query.
+ */
+class RepositoryQueryPlanTest extends IntegrationTest {
+
+    // Recounts every project by design; it runs in the background, off the request path
+    private static final Set<String> FULL_SCANS = Set.of("ProjectRepository.findIdsWithDriftedCounters");
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OwnerRevisionRepository ownerRevisionRepository;
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    private final Map<Method, Set<String>> statements = new LinkedHashMap<>();
+
+    @Test
+    void repositoryQueriesDoNotScanWholeTables() throws Exception {
+        String token = registerUser();
+        long projectId = createProject(token, "Plans");
+        long taskId = createTask(token, projectId, "Explain");
+
+        // Cached query results would be returned without running any SQL
+        secondLevelCache.evictAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            runEveryQuery(projectId, taskId);
+        });
+
+        List<Method> declared = Stream.of(TaskRepository.class, ProjectRepository.class,
+                        UserRepository.class, OwnerRevisionRepository.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic())
+                .toList();
+        assertThat(declared).as("repository methods not run by this test")
+                .allMatch(statements::containsKey);
+
+        List<String> fullScans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (Map.Entry<Method, Set<String>> entry : statements.entrySet()) {
+                String name = entry.getKey().getDeclaringClass().getSimpleName() + "." + entry.getKey().getName();
+                assertThat(entry.getValue()).as(name + " ran no SQL").isNotEmpty();
+                for (String sql : entry.getValue()) {
+                    String plan = explain(connection, sql);
+                    if (plan.contains("Seq Scan") && !FULL_SCANS.contains(name)) {
+                        fullScans.add(name + ":\n" + sql + "\n" + plan);
+                    }
+                }
+            }
+        }
+        assertThat(fullScans).as("queries with a sequential scan").isEmpty();
+    }
+
+    private void runEveryQuery(long projectId, long taskId) {
+        TaskRepository tasks = recorded(TaskRepository.class, taskRepository);
+        ProjectRepository projects = recorded(ProjectRepository.class, projectRepository);
+        UserRepository users = recorded(UserRepository.class, userRepository);
+        OwnerRevisionRepository revisions = recorded(OwnerRevisionRepository.class, ownerRevisionRepository);
+
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        User owner = project.getOwner();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 20);
+
+        tasks.findByProjectOrderByCreatedAtDesc(project);
+        tasks.findByProjectOrderByCreatedAtDesc(project, page);
+        tasks.findByProjectOrderByCreatedAtDescIdDesc(project, Limit.of(20));
+        tasks.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(20));
+        tasks.streamByProject(projectId, owner);
+        tasks.findPageAfter(project, now, Long.MAX_VALUE, Limit.of(20));
+        tasks.findByIdAndProject(taskId, project);
+        tasks.findByIdAndProjectIdAndProjectOwnerId(taskId, projectId, owner.getId());
+        tasks.toggleCompletion(taskId, projectId, owner.getId(), now);
+        tasks.deleteReturning(taskId, projectId, owner.getId());
+        tasks.purgeChunk(projectId, 100);
+        tasks.findByProjectAndIdInOrderByIdAsc(project, List.of(taskId));
+        tasks.searchByText(projectId, "explain", page);
+        tasks.findByProjectAndCompleted(project, true);
+        tasks.countByProject(project);
+        tasks.countByProjectAndCompleted(project, true);
+
+        projects.existsByIdAndOwner(projectId, owner);
+        projects.findRevision(projectId, owner);
+        projects.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(20));
+        projects.findResponsesByOwner(owner);
+        projects.findResponsesByOwner(owner, page);
+        projects.findFirstResponsePage(owner, Limit.of(20));
+        projects.findResponsePageAfter(owner, now, Long.MAX_VALUE, Limit.of(20));
+        projects.searchByText(owner.getId(), "plans", page);
+        projects.bumpRevision(projectId);
+        projects.adjustTaskCounters(projectId, 0, 0, 0);
+        projects.adjustTaskCountersIfOwned(projectId, owner.getId(), 0, 0, 0);
+        projects.findIdsWithDriftedCounters();
+        projects.lockForUpdate(List.of(projectId));
+        projects.reconcileTaskCounters(List.of(projectId));
+        projects.markDeleted(projectId, owner, now);
+        projects.markDeletedByOwner(owner.getId(), now);
+        projects.findDeletedIds(Limit.of(20));
+        projects.purgeIfEmpty(projectId);
+
+        revisions.findRevision(owner.getId());
+        revisions.bump(owner.getId());
+
+        users.findByEmail(owner.getEmail());
+        users.existsByEmail(owner.getEmail());
+        users.findPrincipalByEmail(owner.getEmail());
+        // Deletes the owner, so these run last
+        users.markDeleted(owner.getId(), now);
+        users.purgeDeletedWithoutProjects();
+    }
+
+    /** Wraps a repository so that the statements each of its methods runs are recorded. */
+    @SuppressWarnings("unchecked")
+    private <T> T recorded(Class<T> type, T repository) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try (StatementCounter.Recording recording = StatementCounter.start()) {
+                Object result = method.invoke(repository, args);
+                // Streamed queries only run once the stream is consumed
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        result = stream.toList().stream();
+                    }
+                }
+                statements.computeIfAbsent(method, m -> new LinkedHashSet<>())
+                        .addAll(recording.statements().keySet());
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        int parameters = 0;
+        StringBuilder prepared = new StringBuilder();
+        boolean quoted = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("SET enable_seqscan = off");
+            try {
+                statement.execute("PREPARE plan_check AS " + prepared);
+                try (ResultSet plan = statement.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                    StringBuilder lines = new StringBuilder();
+                    while (plan.next()) {
+                        lines.append(plan.getString(1)).append('\n');
+                    }
+                    return lines.toString();
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                }
+            } finally {
+                statement.execute("RESET enable_seqscan");
+                statement.execute("RESET plan_cache_mode");
+            }
+        }
+    }
+}
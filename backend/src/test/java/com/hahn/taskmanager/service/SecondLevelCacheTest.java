@@ -0,0 +1,40 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.entity.Project;
+import com.hahn.taskmanager.support.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SecondLevelCacheTest extends IntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void taskChangesOnlyKeepTheirOwnProjectOutOfTheCache() throws Exception {
+        String token = registerUser();
+        long changed = createProject(token, "Changed");
+        long untouched = createProject(token, "Untouched");
+        getProject(token, changed, 0);
+        getProject(token, untouched, 0);
+
+        createTask(token, changed, "Task");
+
+        assertThat(entityManagerFactory.getCache().contains(Project.class, untouched)).isTrue();
+        getProject(token, changed, 1);
+        assertThat(entityManagerFactory.getCache().contains(Project.class, changed)).isTrue();
+    }
+
+    private void getProject(String token, long id, int totalTasks) throws Exception {
+        mockMvc.perform(get("/api/projects/{id}", id).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTasks").value(totalTasks));
+    }
+}
@@ -0,0 +1,41 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+class TaskCounterReconcilerTest extends IntegrationTest {
+
+    @Autowired
+    private TaskCounterReconciler reconciler;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repairsOnlyDriftedProjects() throws Exception {
+        String token = registerUser();
+        long drifted = createProject(token, "Drifted");
+        long correct = createProject(token, "Correct");
+        createTask(token, drifted, "Task");
+        createTask(token, correct, "Task");
+        jdbcTemplate.update("UPDATE projects SET total_tasks = 5, completed_tasks = 3 WHERE id = ?", drifted);
+        long correctRevision = revision(correct);
+
+        reconciler.reconcile();
+
+        mockMvc.perform(get("/api/projects/{id}", drifted).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(jsonPath("$.totalTasks").value(1))
+                .andExpect(jsonPath("$.completedTasks").value(0));
+        assertThat(revision(correct)).isEqualTo(correctRevision);
+    }
+
+    private long revision(long projectId) {
+        return jdbcTemplate.queryForObject("SELECT revision FROM projects WHERE id = ?", Long.class, projectId);
+    }
+}
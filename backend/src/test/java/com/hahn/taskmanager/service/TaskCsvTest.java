@@ -0,0 +1,81 @@
+package com.hahn.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCsvTest {
+
+    @Test
+    void readsPlainFields() throws IOException {
+        assertThat(records("title,description\nA,first\n"))
+                .containsExactly(List.of("title", "description"), List.of("A", "first"));
+    }
+
+    @Test
+    void readsQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(records("\"a, b\",\"say \"\"hi\"\"\",\"two\nlines\",\"\"\n"))
+                .containsExactly(List.of("a, b", "say \"hi\"", "two\nlines", ""));
+    }
+
+    @Test
+    void acceptsCrlfLfAndMissingFinalLineEnding() throws IOException {
+        assertThat(records("a,b\r\nc,d\ne,f"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+    }
+
+    @Test
+    void keepsCarriageReturnsInsideQuotedFields() throws IOException {
+        assertThat(records("\"x\r\ny\"\r\n")).containsExactly(List.of("x\r\ny"));
+    }
+
+    @Test
+    void readsEmptyLinesAsOneEmptyField() throws IOException {
+        assertThat(records("a\n\nb\n")).containsExactly(List.of("a"), List.of(""), List.of("b"));
+    }
+
+    @Test
+    void returnsNullAtEndOfInput() throws IOException {
+        assertThat(TaskCsv.readRecord(reader(""))).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        assertThatThrownBy(() -> records("title\n\"never closed\n"))
+                .isInstanceOf(TaskCsv.MalformedCsvException.class)
+                .hasMessage("Unterminated quoted field");
+    }
+
+    @Test
+    void limitsFieldLength() throws IOException {
+        String longest = "x".repeat(TaskCsv.MAX_FIELD_LENGTH);
+        assertThat(records(longest + "\n")).containsExactly(List.of(longest));
+
+        assertThatThrownBy(() -> records(longest + "x\n"))
+                .isInstanceOf(TaskCsv.MalformedCsvException.class)
+                .hasMessage("Field exceeds " + TaskCsv.MAX_FIELD_LENGTH + " characters");
+        assertThatThrownBy(() -> records("\"" + longest + "x\"\n"))
+                .isInstanceOf(TaskCsv.MalformedCsvException.class);
+    }
+
+    private static List<List<String>> records(String csv) throws IOException {
+        PushbackReader reader = reader(csv);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = TaskCsv.readRecord(reader)) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static PushbackReader reader(String csv) {
+        return new PushbackReader(new StringReader(csv), 1);
+    }
+}
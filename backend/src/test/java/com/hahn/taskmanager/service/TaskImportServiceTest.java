@@ -0,0 +1,119 @@
+package com.hahn.taskmanager.service;
+
+import com.hahn.taskmanager.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskImportServiceTest extends IntegrationTest {
+
+    private String token;
+    private long projectId;
+
+    @BeforeEach
+    void createImportProject() throws Exception {
+        token = registerUser();
+        projectId = createProject(token, "Import");
+    }
+
+    @Test
+    void importsNdjsonAndReportsRejectedRows() throws Exception {
+        String body = "{\"title\":\"First\",\"dueDate\":\"2030-01-31\"}\n"
+                + "\n"
+                + "{\"title\":\n"
+                + "{\"title\":\"\"}\n"
+                + "{\"title\":\"Second\",\"description\":\"Details\"}\n";
+
+        importTasks("ndjson", "application/x-ndjson", body)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.aborted").value(false))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].index").value(3))
+                .andExpect(jsonPath("$.errors[0].status").value("INVALID"))
+                .andExpect(jsonPath("$.errors[0].message", containsString("Invalid JSON")))
+                .andExpect(jsonPath("$.errors[1].index").value(4))
+                .andExpect(jsonPath("$.errors[1].message", containsString("title")));
+
+        expectTasks("First", "Second");
+        mockMvc.perform(get("/api/projects/{id}", projectId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(jsonPath("$.totalTasks").value(2));
+    }
+
+    @Test
+    void importsCsvWithByteOrderMarkAndReportsRejectedRows() throws Exception {
+        String body = "\uFEFFDueDate,Title,Description\r\n"
+                + "2030-01-31,\"Quoted, title\",\"Line one\nline two\"\r\n"
+                + "not-a-date,Bad date,\r\n"
+                + "2030-02-01,Too,many,fields\r\n"
+                + "\r\n"
+                + ",Plain,\r\n";
+
+        importTasks("csv", "text/csv", body)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.aborted").value(false))
+                .andExpect(jsonPath("$.errors[0].index").value(2))
+                .andExpect(jsonPath("$.errors[0].message", containsString("dueDate")))
+                .andExpect(jsonPath("$.errors[1].index").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Expected 3 fields but found 4"));
+
+        expectTasks("Quoted, title", "Plain");
+    }
+
+    @Test
+    void stopsAtMalformedCsvAndKeepsEarlierRows() throws Exception {
+        String body = "title\nKept\n\"Never closed\nLost\n";
+
+        importTasks("csv", "text/csv", body)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.aborted").value(true))
+                .andExpect(jsonPath("$.errors[0].index").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Unterminated quoted field; import stopped"));
+
+        expectTasks("Kept");
+    }
+
+    @Test
+    void rejectsCsvWithoutTitleColumn() throws Exception {
+        importTasks("csv", "text/csv", "name\nTask\n")
+                .andExpect(status().isBadRequest());
+
+        expectTasks();
+    }
+
+    @Test
+    void rejectsImportIntoAnotherUsersProject() throws Exception {
+        token = registerUser();
+
+        importTasks("ndjson", "application/x-ndjson", "{\"title\":\"Task\"}\n")
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions importTasks(String format, String contentType, String body) throws Exception {
+        return mockMvc.perform(post("/api/projects/{projectId}/tasks/import", projectId)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .param("format", format)
+                .contentType(contentType)
+                .content(body));
+    }
+
+    private void expectTasks(String... titles) throws Exception {
+        mockMvc.perform(get("/api/projects/{projectId}/tasks", projectId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder((Object[]) titles)));
+    }
+}
@@ -0,0 +1,98 @@
+package com.hahn.taskmanager.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.taskmanager.service.SecondLevelCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the whole application against PostgreSQL, with the Flyway schema, so queries are
+ * tested on the database they run on in production. All subclasses share one context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", TestDatabase::jdbcUrl);
+        registry.add("spring.datasource.username", TestDatabase::username);
+        registry.add("spring.datasource.password", TestDatabase::password);
+    }
+
+    /** Registers a new user and returns its bearer token. */
+    protected String registerUser() throws Exception {
+        Map<String, String> request = Map.of(
+                "fullName", "Test User",
+                "email", "user-" + UUID.randomUUID() + "@example.com",
+                "password", "password123");
+        return "Bearer " + postJson(post("/api/auth/register"), null, request).get("token").asText();
+    }
+
+    protected long createProject(String token, String title) throws Exception {
+        return postJson(post("/api/projects"), token, Map.of("title", title)).get("id").asLong();
+    }
+
+    protected long createTask(String token, long projectId, String title) throws Exception {
+        return postJson(post("/api/projects/{projectId}/tasks", projectId), token, Map.of("title", title))
+                .get("id").asLong();
+    }
+
+    /**
+     * Runs the request as the token's user and fails when it runs more than {@code max}
+     * statements. The second-level cache is emptied first, so budgets hold on a cold node.
+     */
+    protected void expectAtMost(int max, String token, MockHttpServletRequestBuilder request, ResultMatcher result)
+            throws Exception {
+        secondLevelCache.evictAll();
+        request.header(HttpHeaders.AUTHORIZATION, token);
+        SqlStatements.assertAtMost(max, () -> mockMvc.perform(request).andExpect(result));
+    }
+
+    /** Runs the request as the token's user, on a cold second-level cache, and returns how many statements it ran. */
+    protected int countStatements(String token, MockHttpServletRequestBuilder request) throws Exception {
+        secondLevelCache.evictAll();
+        request.header(HttpHeaders.AUTHORIZATION, token);
+        return SqlStatements.count(() -> mockMvc.perform(request).andExpect(status().isOk()));
+    }
+
+    protected String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private JsonNode postJson(MockHttpServletRequestBuilder request, String token, Object body) throws Exception {
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, token);
+        }
+        String response = mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(body)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,57 @@
+package com.hahn.taskmanager.support;
+
+import com.hahn.taskmanager.config.StatementCounter;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** Counts the SQL statements a call runs, to guard endpoints against N+1 regressions. */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    @FunctionalInterface
+    public interface Call {
+        void run() throws Exception;
+    }
+
+    /** Runs the call and returns how many statements it ran, not counting id sequence fetches. */
+    public static int count(Call call) throws Exception {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            call.run();
+            return counted(recording);
+        }
+    }
+
+    /**
+     * Runs the call and fails with an {@link AssertionError} listing the statements when
+     * more than {@code max} were run, not counting id sequence fetches.
+     */
+    public static void assertAtMost(int max, Call call) throws Exception {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            call.run();
+            int count = counted(recording);
+            if (count > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but "
+                        + count + " were run:\n" + summary(recording.statements()));
+            }
+        }
+    }
+
+    // Ids come from pooled sequences, fetched by whichever insert finds the pool used up
+    private static int counted(StatementCounter.Recording recording) {
+        return recording.count() - recording.statements().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("select nextval("))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    private static String summary(Map<String, Integer> statements) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .map(entry -> entry.getValue() + " x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.hahn.taskmanager.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The PostgreSQL database shared by all integration tests of a run. An embedded server is
+ * started on first use; set {@code -Dtest.jdbc-url} (with {@code test.jdbc-username} and
+ * {@code test.jdbc-password}) to run against an existing, empty database instead.
+ */
+final class TestDatabase {
+
+    private static String jdbcUrl;
+
+    private TestDatabase() {
+    }
+
+    static synchronized String jdbcUrl() {
+        if (jdbcUrl == null) {
+            jdbcUrl = System.getProperty("test.jdbc-url");
+            if (jdbcUrl == null) {
+                jdbcUrl = startEmbedded();
+            }
+        }
+        return jdbcUrl;
+    }
+
+    static String username() {
+        return System.getProperty("test.jdbc-username", "postgres");
+    }
+
+    static String password() {
+        return System.getProperty("test.jdbc-password", "postgres");
+    }
+
+    private static String startEmbedded() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting anyway
+                }
+            }));
+            return postgres.getJdbcUrl("postgres", "postgres");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}